@@ -12,8 +12,9 @@ import org.apache.logging.log4j.Logger;
 import java.util.Map;
 
 /**
- * RestAssuredClient - Singleton class to manage REST API interactions
- * using REST Assured library.
+ * RestAssuredClient - Manages REST API interactions using REST Assured library.
+ * {@link #getInstance()} returns the shared client; {@link #newInstance()} gives an environment
+ * its own client, so base URI and headers set for one environment never reach another.
  */
 public class RestAssuredClient {
     private static final Logger LOGGER = LogManager.getLogger(RestAssuredClient.class);
@@ -35,6 +36,14 @@ public class RestAssuredClient {
         return instance;
     }
 
+    /**
+     * Creates a client with its own request specification
+     * @return a new RestAssuredClient
+     */
+    public static RestAssuredClient newInstance() {
+        return new RestAssuredClient();
+    }
+
     /**
      * Sets the base URI for API requests
      * @param baseUri The base URI
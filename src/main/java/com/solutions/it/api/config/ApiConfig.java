@@ -1,28 +1,50 @@
 package com.solutions.it.api.config;
 
-import com.solutions.it.utils.ConfigReader;
+import com.solutions.it.config.ConfigResolver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ApiConfig - Handles API configuration settings from properties files
+ * One instance per environment, so suites for qa, staging and demo can run side by side
  */
 public class ApiConfig {
     private static final Logger LOGGER = LogManager.getLogger(ApiConfig.class);
-    private static ApiConfig instance;
+    private static final Map<String, ApiConfig> INSTANCES = new ConcurrentHashMap<>();
+    private final ConfigResolver resolver;
     
-    private ApiConfig() {
-        // Empty constructor
+    private ApiConfig(ConfigResolver resolver) {
+        this.resolver = resolver;
     }
     
-    public static synchronized ApiConfig getInstance() {
-        if (instance == null) {
-            instance = new ApiConfig();
-        }
-        return instance;
+    /**
+     * Gets the configuration of the environment selected for the run
+     * @return ApiConfig instance
+     */
+    public static ApiConfig getInstance() {
+        return forEnvironment(ConfigResolver.getInstance().getEnvironment());
+    }
+    
+    /**
+     * Gets the configuration of an environment
+     * @param environment The environment name (qa, staging, demo)
+     * @return ApiConfig instance
+     */
+    public static ApiConfig forEnvironment(String environment) {
+        ConfigResolver environmentResolver = ConfigResolver.forEnvironment(environment);
+        return INSTANCES.computeIfAbsent(environmentResolver.getEnvironment(), env -> new ApiConfig(environmentResolver));
+    }
+    
+    /**
+     * Gets the environment this configuration belongs to
+     * @return Environment name
+     */
+    public String getEnvironment() {
+        return resolver.getEnvironment();
     }
     
     /**
@@ -30,7 +52,7 @@ public class ApiConfig {
      * @return Base URL as string
      */
     public String getBaseUrl() {
-        String baseUrl = ConfigReader.getProperty("api.baseUrl");
+        String baseUrl = resolver.get("api.baseUrl");
         if (baseUrl == null || baseUrl.isEmpty()) {
             LOGGER.warn("API base URL not found in configuration. Using default.");
             return "https://jsonplaceholder.typicode.com"; // Default API for testing
@@ -48,7 +70,7 @@ public class ApiConfig {
         headers.put("Accept", "application/json");
         
         // Add any custom headers from configuration
-        String customHeaders = ConfigReader.getProperty("api.customHeaders");
+        String customHeaders = resolver.get("api.customHeaders");
         if (customHeaders != null && !customHeaders.isEmpty()) {
             String[] headerPairs = customHeaders.split(";");
             for (String pair : headerPairs) {
@@ -67,7 +89,7 @@ public class ApiConfig {
      * @return Authentication token or null
      */
     public String getAuthToken() {
-        return ConfigReader.getProperty("api.authToken");
+        return resolver.get("api.authToken");
     }
     
     /**
@@ -75,7 +97,7 @@ public class ApiConfig {
      * @return Timeout in seconds
      */
     public int getTimeoutInSeconds() {
-        String timeout = ConfigReader.getProperty("api.timeout");
+        String timeout = resolver.get("api.timeout");
         if (timeout == null || timeout.isEmpty()) {
             return 30; // Default timeout
         }
@@ -93,7 +115,7 @@ public class ApiConfig {
      * @return The endpoint URL
      */
     public String getEndpoint(String endpointKey) {
-        String endpoint = ConfigReader.getProperty("api.endpoint." + endpointKey);
+        String endpoint = resolver.get("api.endpoint." + endpointKey);
         if (endpoint == null || endpoint.isEmpty()) {
             LOGGER.warn("Endpoint {} not found in configuration", endpointKey);
             return "";
@@ -1,59 +1,43 @@
 package com.solutions.it.api.utils;
 
-import com.solutions.it.utils.ConfigReader;
+import com.solutions.it.config.ConfigResolver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.Properties;
-
 /**
  * EnvironmentManager - Manages environment-specific configurations
  * Handles loading properties for different environments (qa, staging, demo)
+ * <p>
+ * The environment file is resolved from the classpath over config.properties, and system
+ * properties and environment variables override both (see {@link ConfigResolver}).
  */
 public class EnvironmentManager {
     private static final Logger LOGGER = LogManager.getLogger(EnvironmentManager.class);
-    private static final String DEFAULT_ENV = "qa";
-    private static final String ENV_PROPERTY_KEY = "env";
-    private static Properties envProperties;
+    private static volatile ConfigResolver resolver;
     
     private EnvironmentManager() {
         // Private constructor to prevent instantiation
     }
     
     /**
-     * Initializes the environment manager
+     * Initializes the environment manager with the environment selected by the {@code env}
+     * system property, the AIF_ENV environment variable or config.properties (qa by default)
      */
     public static void init() {
-        String environment = System.getProperty(ENV_PROPERTY_KEY);
-        if (environment == null || environment.isEmpty()) {
-            environment = ConfigReader.getProperty(ENV_PROPERTY_KEY);
-            if (environment == null || environment.isEmpty()) {
-                environment = DEFAULT_ENV;
-                LOGGER.warn("Environment not specified, using default: {}", DEFAULT_ENV);
-            }
+        ConfigResolver result = ConfigResolver.getInstance();
+        if (resolver != result) {
+            resolver = result;
+            LOGGER.info("Loaded environment properties for: {}", result.getEnvironment());
         }
-        
-        loadEnvironmentProperties(environment);
     }
     
-    /**
-     * Loads environment-specific properties
-     * @param environment The environment name (qa, staging, demo)
-     */
-    private static void loadEnvironmentProperties(String environment) {
-        String propertiesFilePath = "src/main/resources/" + environment + ".properties";
-        envProperties = new Properties();
-        
-        try (InputStream input = new FileInputStream(propertiesFilePath)) {
-            envProperties.load(input);
-            LOGGER.info("Loaded environment properties for: {}", environment);
-        } catch (IOException e) {
-            LOGGER.error("Failed to load environment properties for {}: {}", environment, e.getMessage());
-            throw new RuntimeException("Failed to load environment properties: " + e.getMessage(), e);
+    private static ConfigResolver resolver() {
+        ConfigResolver result = resolver;
+        if (result == null) {
+            init();
+            result = resolver;
         }
+        return result;
     }
     
     /**
@@ -62,11 +46,7 @@ public class EnvironmentManager {
      * @return Property value or null if not found
      */
     public static String getProperty(String key) {
-        if (envProperties == null) {
-            init();
-        }
-        
-        String value = envProperties.getProperty(key);
+        String value = resolver().get(key);
         if (value == null) {
             LOGGER.warn("Property not found in environment configuration: {}", key);
         }
@@ -79,11 +59,7 @@ public class EnvironmentManager {
      * @return Environment name (qa, staging, demo)
      */
     public static String getEnvironment() {
-        if (envProperties == null) {
-            init();
-        }
-        
-        return envProperties.getProperty("environment.name", DEFAULT_ENV);
+        return resolver().get("environment.name", resolver().getEnvironment());
     }
     
     /**
@@ -0,0 +1,117 @@
+package com.solutions.it.api.utils;
+
+import com.solutions.it.metrics.MetricsWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * EnvironmentRunMetrics - Collects test results per environment when one run fans out across
+ * several environments, and writes each environment's outcome and wall time together with the
+ * combined wall time of the run
+ */
+public final class EnvironmentRunMetrics {
+    private static final Logger LOGGER = LogManager.getLogger(EnvironmentRunMetrics.class);
+    private static final String REPORT_FILE = "environment-runs.json";
+    private static final Map<String, EnvironmentRun> RUNS = new ConcurrentHashMap<>();
+    
+    private EnvironmentRunMetrics() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Records a finished test
+     * @param environment The environment the test ran against
+     * @param result The test result
+     */
+    public static void record(String environment, ITestResult result) {
+        RUNS.computeIfAbsent(environment, env -> new EnvironmentRun()).record(result);
+    }
+    
+    /**
+     * Writes the per-environment results and logs a one-line summary
+     * @return The written file, or null if no test was recorded
+     */
+    public static Path writeReport() {
+        if (RUNS.isEmpty()) {
+            return null;
+        }
+        
+        Map<String, Object> environments = new TreeMap<>();
+        long firstStart = Long.MAX_VALUE;
+        long lastEnd = Long.MIN_VALUE;
+        long sequentialMillis = 0;
+        StringBuilder summary = new StringBuilder("Environment runs -");
+        for (Map.Entry<String, EnvironmentRun> entry : new TreeMap<>(RUNS).entrySet()) {
+            EnvironmentRun run = entry.getValue();
+            Map<String, Object> stats;
+            synchronized (run) {
+                stats = run.summary();
+                firstStart = Math.min(firstStart, run.firstStart);
+                lastEnd = Math.max(lastEnd, run.lastEnd);
+                sequentialMillis += run.lastEnd - run.firstStart;
+            }
+            environments.put(entry.getKey(), stats);
+            summary.append(' ').append(entry.getKey()).append(": ").append(stats.get("passed")).append('/')
+                    .append(stats.get("tests")).append(" passed in ").append(stats.get("wallMillis")).append(" ms;");
+        }
+        long combinedWallMillis = lastEnd - firstStart;
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("environments", environments);
+        report.put("combinedWallMillis", combinedWallMillis);
+        // What running the environments one after another would have taken
+        report.put("sequentialWallMillis", sequentialMillis);
+        report.put("speedup", combinedWallMillis > 0 ? Math.round(100.0 * sequentialMillis / combinedWallMillis) / 100.0 : 1.0);
+        Path file = MetricsWriter.write(REPORT_FILE, report);
+        summary.append(" combined wall time ").append(combinedWallMillis).append(" ms");
+        LOGGER.info(summary);
+        return file;
+    }
+    
+    /**
+     * Results of one environment
+     */
+    private static final class EnvironmentRun {
+        private int passed;
+        private int failed;
+        private int skipped;
+        private long testMillis;
+        private long firstStart = Long.MAX_VALUE;
+        private long lastEnd = Long.MIN_VALUE;
+        
+        synchronized void record(ITestResult result) {
+            switch (result.getStatus()) {
+                case ITestResult.SUCCESS:
+                    passed++;
+                    break;
+                case ITestResult.FAILURE:
+                    failed++;
+                    break;
+                default:
+                    skipped++;
+                    break;
+            }
+            testMillis += result.getEndMillis() - result.getStartMillis();
+            firstStart = Math.min(firstStart, result.getStartMillis());
+            lastEnd = Math.max(lastEnd, result.getEndMillis());
+        }
+        
+        Map<String, Object> summary() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("tests", passed + failed + skipped);
+            stats.put("passed", passed);
+            stats.put("failed", failed);
+            stats.put("skipped", skipped);
+            stats.put("wallMillis", lastEnd - firstStart);
+            stats.put("testMillis", testMillis);
+            return stats;
+        }
+    }
+}
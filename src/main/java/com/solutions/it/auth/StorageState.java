@@ -0,0 +1,46 @@
+package com.solutions.it.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * StorageState - Captured authenticated browser state for one user:
+ * cookies plus local and session storage of the application origin
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageState {
+    private String username;
+    private String origin;
+    private long capturedAt;
+    @Builder.Default
+    private List<StoredCookie> cookies = new ArrayList<>();
+    @Builder.Default
+    private Map<String, String> localStorage = new LinkedHashMap<>();
+    @Builder.Default
+    private Map<String, String> sessionStorage = new LinkedHashMap<>();
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StoredCookie {
+        private String name;
+        private String value;
+        private String domain;
+        private String path;
+        private Long expiry;
+        private boolean secure;
+        private boolean httpOnly;
+        private String sameSite;
+    }
+}
@@ -0,0 +1,343 @@
+package com.solutions.it.auth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solutions.it.auth.StorageState.StoredCookie;
+import com.solutions.it.config.FrameworkConfig;
+import com.solutions.it.pages.HomePage;
+import com.solutions.it.pages.LoginPage;
+import com.solutions.it.utils.Log;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Logs each user in once per suite and reuses the authenticated state for later sessions.
+ * The login runs either through the UI or as a direct HTTP form post with RestAssured;
+ * cookies and web storage are captured to a file per user and seeded into new sessions.
+ * A capture that is too old, has expired cookies or gets bounced back to the login page
+ * is refreshed with a new login.
+ */
+public final class StorageStateManager {
+    private static final FrameworkConfig CONFIG = FrameworkConfig.getInstance();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Map<String, StorageState> STATES = new ConcurrentHashMap<>();
+    private static final Map<String, Object> USER_LOCKS = new ConcurrentHashMap<>();
+    private static final Pattern CSRF_TOKEN = Pattern.compile(
+            ":token=\"&quot;(.+?)&quot;\"|name=\"_token\"\\s+value=\"(.+?)\"");
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "var local = arguments[0], session = arguments[1];"
+            + "for (var k in local) { window.localStorage.setItem(k, local[k]); }"
+            + "for (var k in session) { window.sessionStorage.setItem(k, session[k]); }";
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "var copy = function(s) { var o = {}; for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } return o; };"
+            + "return { local: copy(window.localStorage), session: copy(window.sessionStorage) };";
+
+    private StorageStateManager() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Checks whether tests should reuse stored logins instead of logging in through the UI
+     *
+     * @return true if storage-state reuse is enabled
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(CONFIG.getProperty("auth.storage.state.enabled", "false"));
+    }
+
+    /**
+     * Brings the session to the landing page as the given user. Reuses the stored state for
+     * the user when there is one, and logs in (once per user, across threads) when there is not.
+     * Falls back to a plain UI login when storage-state reuse is disabled.
+     *
+     * @param driver the WebDriver instance, positioned anywhere
+     * @param username the user to authenticate as
+     * @param password the user's password
+     * @return the home page of the authenticated session
+     */
+    public static HomePage authenticate(WebDriver driver, String username, String password) {
+        if (!isEnabled()) {
+            return new LoginPage(driver).login(username, password);
+        }
+
+        long start = System.nanoTime();
+        StorageState state = currentState(driver, username, password);
+        if (!restore(driver, state)) {
+            Log.info("Stored login for {} has expired, refreshing it", username);
+            state = refresh(driver, username, password, state);
+            if (!restore(driver, state)) {
+                throw new IllegalStateException("Could not restore an authenticated session for " + username);
+            }
+        }
+
+        Log.info("Restored authenticated session for {} in {}ms", username,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return new HomePage(driver);
+    }
+
+    /**
+     * Drops the stored state of a user so the next test logs in again
+     *
+     * @param username the user whose state is invalidated
+     */
+    public static void invalidate(String username) {
+        synchronized (lockFor(username)) {
+            STATES.remove(username);
+            try {
+                Files.deleteIfExists(stateFile(username));
+            } catch (IOException e) {
+                Log.warn("Could not delete stored login for {}: {}", username, e.getMessage());
+            }
+        }
+    }
+
+    private static StorageState currentState(WebDriver driver, String username, String password) {
+        StorageState state = STATES.get(username);
+        if (isUsable(state)) {
+            return state;
+        }
+        synchronized (lockFor(username)) {
+            state = STATES.get(username);
+            if (!isUsable(state)) {
+                state = readState(username);
+            }
+            if (!isUsable(state)) {
+                state = login(driver, username, password);
+            }
+            STATES.put(username, state);
+            return state;
+        }
+    }
+
+    private static StorageState refresh(WebDriver driver, String username, String password, StorageState stale) {
+        synchronized (lockFor(username)) {
+            StorageState current = STATES.get(username);
+            // Another thread may already have refreshed the state while this one was restoring it
+            if (current != null && current != stale && isUsable(current)) {
+                return current;
+            }
+            StorageState state = login(driver, username, password);
+            STATES.put(username, state);
+            return state;
+        }
+    }
+
+    private static StorageState login(WebDriver driver, String username, String password) {
+        long start = System.nanoTime();
+        String mode = CONFIG.getProperty("auth.login.mode", "http").trim().toLowerCase(Locale.ENGLISH);
+        StorageState state = "ui".equals(mode) ? uiLogin(driver, username, password) : httpLogin(username, password);
+        writeState(state);
+
+        Log.info("Captured login state for {} via {} login in {}ms", username, mode,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return state;
+    }
+
+    private static StorageState uiLogin(WebDriver driver, String username, String password) {
+        driver.manage().deleteAllCookies();
+        driver.get(CONFIG.getApplicationUrl());
+        new LoginPage(driver).login(username, password);
+        if (isLoginPage(driver.getCurrentUrl())) {
+            throw new IllegalStateException("UI login failed for " + username);
+        }
+
+        StorageState state = newState(username);
+        for (Cookie cookie : driver.manage().getCookies()) {
+            state.getCookies().add(StoredCookie.builder()
+                    .name(cookie.getName())
+                    .value(cookie.getValue())
+                    .domain(cookie.getDomain())
+                    .path(cookie.getPath())
+                    .expiry(cookie.getExpiry() != null ? cookie.getExpiry().getTime() : null)
+                    .secure(cookie.isSecure())
+                    .httpOnly(cookie.isHttpOnly())
+                    .sameSite(cookie.getSameSite())
+                    .build());
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, String>> storage = (Map<String, Map<String, String>>)
+                ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+        if (storage != null) {
+            state.getLocalStorage().putAll(storage.get("local"));
+            state.getSessionStorage().putAll(storage.get("session"));
+        }
+        return state;
+    }
+
+    private static StorageState httpLogin(String username, String password) {
+        String loginUrl = CONFIG.getApplicationUrl();
+        Response loginPage = RestAssured.given()
+                .relaxedHTTPSValidation()
+                .redirects().follow(false)
+                .get(loginUrl);
+
+        Matcher matcher = CSRF_TOKEN.matcher(loginPage.asString());
+        if (!matcher.find()) {
+            throw new IllegalStateException("No CSRF token found on the login page " + loginUrl);
+        }
+        String token = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+
+        Response validation = RestAssured.given()
+                .relaxedHTTPSValidation()
+                .redirects().follow(false)
+                .cookies(loginPage.getCookies())
+                .contentType(ContentType.URLENC)
+                .formParam("_token", token)
+                .formParam("username", username)
+                .formParam("password", password)
+                .post(origin() + CONFIG.getProperty("auth.validate.path", "/web/index.php/auth/validate"));
+
+        String location = validation.getHeader("Location");
+        if (location == null || isLoginPage(location)) {
+            throw new IllegalStateException("HTTP login failed for " + username + " (status "
+                    + validation.getStatusCode() + ")");
+        }
+
+        // The validated session cookie replaces the anonymous one issued with the login page
+        Map<String, StoredCookie> cookies = new LinkedHashMap<>();
+        for (Response response : new Response[] {loginPage, validation}) {
+            for (io.restassured.http.Cookie cookie : response.getDetailedCookies()) {
+                cookies.put(cookie.getName(), StoredCookie.builder()
+                        .name(cookie.getName())
+                        .value(cookie.getValue())
+                        .domain(cookie.getDomain())
+                        .path(cookie.getPath() != null ? cookie.getPath() : "/")
+                        .expiry(cookie.getExpiryDate() != null ? cookie.getExpiryDate().getTime() : null)
+                        .secure(cookie.isSecured())
+                        .httpOnly(cookie.isHttpOnly())
+                        .build());
+            }
+        }
+
+        StorageState state = newState(username);
+        state.getCookies().addAll(cookies.values());
+        return state;
+    }
+
+    /**
+     * Seeds the session with the stored state and opens the landing page
+     *
+     * @return false if the application sent the session back to the login page
+     */
+    private static boolean restore(WebDriver driver, StorageState state) {
+        String origin = state.getOrigin();
+        if (!driver.getCurrentUrl().startsWith(origin)) {
+            // Cookies can only be set for the domain of the current page
+            driver.get(CONFIG.getApplicationUrl());
+        }
+
+        driver.manage().deleteAllCookies();
+        for (StoredCookie stored : state.getCookies()) {
+            Cookie.Builder builder = new Cookie.Builder(stored.getName(), stored.getValue())
+                    .path(stored.getPath())
+                    .isSecure(stored.isSecure())
+                    .isHttpOnly(stored.isHttpOnly());
+            if (stored.getDomain() != null) {
+                builder.domain(stored.getDomain());
+            }
+            if (stored.getExpiry() != null) {
+                builder.expiresOn(new Date(stored.getExpiry()));
+            }
+            if (stored.getSameSite() != null) {
+                builder.sameSite(stored.getSameSite());
+            }
+            driver.manage().addCookie(builder.build());
+        }
+        if (!state.getLocalStorage().isEmpty() || !state.getSessionStorage().isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT,
+                    state.getLocalStorage(), state.getSessionStorage());
+        }
+
+        driver.get(origin + CONFIG.getProperty("auth.landing.path", "/web/index.php/dashboard/index"));
+        return !isLoginPage(driver.getCurrentUrl());
+    }
+
+    private static boolean isUsable(StorageState state) {
+        if (state == null || state.getCookies().isEmpty()) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        long maxAgeMillis = TimeUnit.MINUTES.toMillis(Long.parseLong(CONFIG.getProperty("auth.state.max.age.minutes", "30")));
+        if (now - state.getCapturedAt() > maxAgeMillis || !origin().equals(state.getOrigin())) {
+            return false;
+        }
+        for (StoredCookie cookie : state.getCookies()) {
+            if (cookie.getExpiry() != null && cookie.getExpiry() <= now) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static StorageState newState(String username) {
+        return StorageState.builder()
+                .username(username)
+                .origin(origin())
+                .capturedAt(System.currentTimeMillis())
+                .build();
+    }
+
+    private static boolean isLoginPage(String url) {
+        return url.contains(CONFIG.getProperty("auth.login.path", "/auth/login"));
+    }
+
+    private static String origin() {
+        URI uri = URI.create(CONFIG.getApplicationUrl());
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    private static Object lockFor(String username) {
+        return USER_LOCKS.computeIfAbsent(username, key -> new Object());
+    }
+
+    private static Path stateFile(String username) {
+        String fileName = username.replaceAll("[^A-Za-z0-9._-]", "_") + ".json";
+        return Paths.get(CONFIG.getProperty("auth.state.path", "./test-output/auth/"), fileName);
+    }
+
+    private static StorageState readState(String username) {
+        Path path = stateFile(username);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.readValue(path.toFile(), StorageState.class);
+        } catch (IOException e) {
+            Log.warn("Ignoring unreadable login state {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void writeState(StorageState state) {
+        Path path = stateFile(state.getUsername());
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            // Write to a temp file first so parallel suites never read a half-written state
+            Path tmp = Files.createTempFile(parent, "storage-state", ".tmp");
+            OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), state);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Log.warn("Could not store login state {}: {}", path, e.getMessage());
+        }
+    }
+}
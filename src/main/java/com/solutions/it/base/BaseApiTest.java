@@ -4,6 +4,7 @@ import com.aventstack.extentreports.ExtentTest;
 import com.solutions.it.api.RestAssuredClient;
 import com.solutions.it.api.config.ApiConfig;
 import com.solutions.it.api.utils.EnvironmentManager;
+import com.solutions.it.api.utils.EnvironmentRunMetrics;
 import com.solutions.it.api.validators.ResponseValidator;
 import com.solutions.it.reports.ExtentManager;
 import io.restassured.RestAssured;
@@ -19,6 +20,8 @@ import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
 
 import java.lang.reflect.Method;
 import java.util.HashMap;
@@ -28,13 +31,16 @@ import java.util.Map;
  * BaseApiTest - Base class for all API tests
  * Provides common setup and utility methods for API testing
  * Completely separate from UI tests - does not initialize WebDriver
+ * Per-test state lives in the thread's {@link TestContext}, so methods of one instance can run in parallel
+ * The environment comes from the {@code env} suite parameter when set, so one suite can run the same
+ * classes against qa, staging and demo in parallel {@code <test>} blocks, each with its own config and client
  */
 public class BaseApiTest {
     protected static final Logger LOGGER = LogManager.getLogger(BaseApiTest.class);
-    protected RestAssuredClient apiClient;
-    protected ApiConfig apiConfig;
-    protected ExtentTest extentTest;
     protected static final int DEFAULT_TIMEOUT_MS = 5000;
+    private RestAssuredClient classApiClient;
+    private ApiConfig classApiConfig;
+    private boolean environmentFromSuite;
     
     @BeforeSuite
     public void beforeSuite() {
@@ -44,28 +50,31 @@ public class BaseApiTest {
         // Set system property to skip WebDriver initialization
         System.setProperty("skipBrowser", "true");
         
+        // REST Assured filters are global, so they are added once rather than by every class
+        RestAssured.filters(new RequestLoggingFilter(), new ResponseLoggingFilter());
+        
         LOGGER.info("API testing initialized for environment: {}", EnvironmentManager.getEnvironment());
         LOGGER.info("Browser initialization disabled for API tests");
     }
     
     @BeforeClass
-    public void setUp() {
-        // Configure REST Assured
-        RestAssured.filters(new RequestLoggingFilter(), new ResponseLoggingFilter());
-        
-        // Initialize API client and config
-        apiConfig = ApiConfig.getInstance();
-        apiClient = RestAssuredClient.getInstance()
-                .setBaseUri(apiConfig.getBaseUrl())
-                .setHeaders(apiConfig.getDefaultHeaders());
+    @Parameters("env")
+    public void setUp(@Optional String environment) {
+        // Initialize API config and a client of its own for the class's environment
+        environmentFromSuite = environment != null && !environment.isEmpty();
+        classApiConfig = environmentFromSuite ? ApiConfig.forEnvironment(environment) : ApiConfig.getInstance();
+        classApiClient = RestAssuredClient.newInstance()
+                .setBaseUri(classApiConfig.getBaseUrl())
+                .setHeaders(classApiConfig.getDefaultHeaders());
         
         // Set authorization token if available
-        String authToken = apiConfig.getAuthToken();
+        String authToken = classApiConfig.getAuthToken();
         if (authToken != null && !authToken.isEmpty()) {
-            apiClient.setAuthorizationToken(authToken);
+            classApiClient.setAuthorizationToken(authToken);
         }
         
-        LOGGER.info("API test setup completed with base URL: {}", apiConfig.getBaseUrl());
+        LOGGER.info("API test setup completed for environment {} with base URL: {}",
+                classApiConfig.getEnvironment(), classApiConfig.getBaseUrl());
     }
     
     @BeforeMethod
@@ -81,45 +90,42 @@ public class BaseApiTest {
             }
         }
         
-        // Create test in extent report
-        extentTest = ExtentManager.getInstance().createTest(method.getName(), "API Test for " + method.getName())
-                .assignCategory(category);
+        // Open the thread's test context, which creates the test in the extent report
+        // When the suite fans out across environments the name tells the runs of a method apart
+        String environment = classApiConfig.getEnvironment();
+        String testName = environmentFromSuite ? method.getName() + " [" + environment + "]" : method.getName();
+        TestContext context = TestContext.open(testName, "API Test for " + method.getName())
+                .setApiClient(classApiClient)
+                .setApiConfig(classApiConfig);
+        context.getReportNode().assignCategory(category, environment);
         
-        extentTest.info("Test Started - Environment: " + EnvironmentManager.getEnvironment());
+        context.getReportNode().info("Test Started - Environment: " + environment);
     }
     
     @AfterMethod
     public void afterMethod(ITestResult result) {
-        if (result.getStatus() == ITestResult.FAILURE) {
-            extentTest.fail("Test Failed: " + result.getThrowable().getMessage());
-            LOGGER.error("Test Failed: {}", result.getThrowable().getMessage());
-        } else if (result.getStatus() == ITestResult.SUCCESS) {
-            extentTest.pass("Test Passed");
-            LOGGER.info("Test Passed");
-        } else {
-            extentTest.skip("Test Skipped");
-            LOGGER.info("Test Skipped");
-        }
+        // The outcome is reported by TestListener; only the environment's run metrics are kept here
+        EnvironmentRunMetrics.record(classApiConfig.getEnvironment(), result);
         
-        // Flush the report after each test to ensure it's written to disk
-        ExtentManager.flushReport();
+        // Appends the finished test to the report's event log; the HTML is rendered at suite end
+        TestContext.close();
     }
     
     @AfterClass
     public void afterClass() {
-        // Flush reports at the end of the class
+        // Push the tests of this class to disk without rendering the report
         ExtentManager.flushReport();
         LOGGER.info("API test class completed, reports flushed");
     }
     
     @AfterSuite
     public void afterSuite() {
-        // Final flush at the end of the test suite
-        ExtentManager.flushReport();
+        // Render the HTML report once from the recorded tests
+        String reportPath = ExtentManager.renderReport();
+        EnvironmentRunMetrics.writeReport();
         LOGGER.info("API test suite completed");
         
         // Print the report path for easier access
-        String reportPath = ExtentManager.getLastReportPath();
         if (reportPath != null) {
             System.out.println("=================================");
             System.out.println("Extent Report saved to: " + reportPath);
@@ -127,6 +133,30 @@ public class BaseApiTest {
         }
     }
     
+    /**
+     * Gets the report node of the test running on this thread
+     * @return the extent test
+     */
+    protected ExtentTest getExtentTest() {
+        return TestContext.current().getReportNode();
+    }
+    
+    /**
+     * Gets the API client of the test running on this thread
+     * @return the API client
+     */
+    protected RestAssuredClient getApiClient() {
+        return TestContext.current().getApiClient();
+    }
+    
+    /**
+     * Gets the API config of the test running on this thread
+     * @return the API config
+     */
+    protected ApiConfig getApiConfig() {
+        return TestContext.current().getApiConfig();
+    }
+    
     /**
      * Verifies the common success response attributes
      * @param response The response to validate
@@ -138,22 +168,22 @@ public class BaseApiTest {
             ResponseValidator.validateStatusCode(response, expectedStatusCode);
             ResponseValidator.validateContentType(response, "application/json");
             ResponseValidator.validateResponseTime(response, DEFAULT_TIMEOUT_MS);
-            extentTest.pass("Response validation successful");
+            getExtentTest().pass("Response validation successful");
             return true;
         } catch (AssertionError e) {
-            extentTest.fail("Response validation failed: " + e.getMessage());
+            getExtentTest().fail("Response validation failed: " + e.getMessage());
             LOGGER.error("Response validation failed: {}", e.getMessage());
             return false;
         }
     }
     
     /**
-     * Gets the endpoint URL for the given key
+     * Gets the endpoint URL for the given key in the test's environment
      * @param endpointKey The endpoint key from properties
      * @return The complete endpoint URL
      */
     protected String getEndpointUrl(String endpointKey) {
-        return EnvironmentManager.getEndpoint(endpointKey);
+        return getApiConfig().getEndpoint(endpointKey);
     }
     
     /**
@@ -179,6 +209,7 @@ public class BaseApiTest {
      * @param response Response object
      */
     protected void logResponseToReport(Response response) {
+        ExtentTest extentTest = getExtentTest();
         extentTest.info("Response Status Code: " + response.getStatusCode());
         extentTest.info("Response Time: " + response.getTime() + "ms");
         
@@ -1,14 +1,25 @@
 package com.solutions.it.base;
 
 import com.solutions.it.config.FrameworkConfig;
+import com.solutions.it.drivers.CommandTracer;
+import com.solutions.it.drivers.DriverLifecycleMetrics;
+import com.solutions.it.drivers.DriverLifecycleMetrics.Phase;
+import com.solutions.it.drivers.NetworkBlocker;
+import com.solutions.it.drivers.SessionRegistry;
 import com.solutions.it.drivers.WebDriverManager;
+import com.solutions.it.pages.ElementCache;
+import com.solutions.it.pages.WaitEngine;
+import com.solutions.it.reports.ScreenshotPipeline;
 import com.solutions.it.utils.Log;
 import org.openqa.selenium.WebDriver;
 import org.testng.ITestContext;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
+import org.testng.annotations.Test;
 
 import java.lang.reflect.Method;
 import java.util.Map;
@@ -28,7 +39,10 @@ public class BaseTest {
     @BeforeMethod
     @Parameters({"browser"})
     public void setUp(@Optional String browser, Method method, Object[] testData, ITestContext context) {
-        Log.info("Setting up test execution for method: " + method.getName());
+        Log.info("Setting up test execution for method: {}", method.getName());
+        Test test = method.getAnnotation(Test.class);
+        TestContext testContext = TestContext.open(method.getName(), test != null ? test.description() : null);
+        testContext.startTimer("setUp");
         
         // First check if browser comes from a data provider parameter
         String browserToUse = browser;
@@ -40,36 +54,73 @@ public class BaseTest {
                 Map<String, Object> dataMap = (Map<String, Object>) testData[0];
                 if (dataMap.containsKey("browser")) {
                     browserToUse = (String) dataMap.get("browser");
-                    Log.info("Using browser from data provider: " + browserToUse);
+                    Log.info("Using browser from data provider: {}", browserToUse);
                 }
             } catch (ClassCastException e) {
-                Log.warn("Could not extract browser from test data: " + e.getMessage());
+                Log.warn("Could not extract browser from test data: {}", e.getMessage());
             }
         }
         
         // Configure browser if provided via TestNG parameters or data provider
         if (browserToUse != null && !browserToUse.isEmpty()) {
             new FrameworkConfig.Builder().browser(browserToUse).build();
-            Log.info("Using browser: " + browserToUse);
+            Log.info("Using browser: {}", browserToUse);
         }
         
         // Initialize WebDriver
+        ElementCache.resetStatistics();
+        CommandTracer.startTest(method.getDeclaringClass().getSimpleName() + "." + method.getName());
         WebDriverManager.initializeDriver();
         
         // Navigate to application URL
         WebDriver driver = WebDriverManager.getDriver();
+        NetworkBlocker.resetCounters(driver);
+        SessionRegistry.assignTest(driver, method.getDeclaringClass().getSimpleName() + "." + method.getName());
         String url = CONFIG.getApplicationUrl();
+        long navigationStart = System.nanoTime();
         driver.get(url);
-        Log.info("Navigated to: " + url);
+        DriverLifecycleMetrics.record(Phase.FIRST_NAVIGATION, CONFIG.getBrowser().toLowerCase(),
+                CONFIG.isRemoteExecution(), System.nanoTime() - navigationStart);
+        Log.info("Navigated to: {}", url);
+        testContext.stopTimer("setUp");
     }
     
     /**
      * Cleans up the test environment after each test method
+     * 
+     * @param result the result of the test method that just ran
      */
     @AfterMethod
-    public void tearDown() {
+    public void tearDown(ITestResult result) {
+        WebDriver driver = WebDriverManager.getCurrentDriver();
+        if (driver != null) {
+            NetworkBlocker.logTestSummary(driver, result.getMethod().getMethodName());
+        }
+        ElementCache.logStatistics(result.getMethod().getMethodName());
+        CommandTracer.endTest();
+        
         Log.info("Closing the browser and ending test execution");
+        TestContext testContext = TestContext.current();
+        if (testContext != null) {
+            testContext.startTimer("tearDown");
+        }
         WebDriverManager.quitDriver();
+        if (testContext != null) {
+            testContext.stopTimer("tearDown");
+            Log.info("Test {} finished in {} ms, phase timings (ns): {}", testContext.getName(),
+                    testContext.getElapsedNanos() / 1_000_000, testContext.getTimings());
+        }
+        TestContext.close();
+    }
+    
+    /**
+     * Releases shared driver resources once the whole suite has finished
+     */
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        WebDriverManager.shutdown();
+        WaitEngine.writeReport();
+        ScreenshotPipeline.shutdown();
     }
     
     /**
@@ -0,0 +1,201 @@
+package com.solutions.it.base;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.solutions.it.api.RestAssuredClient;
+import com.solutions.it.api.config.ApiConfig;
+import com.solutions.it.config.FrameworkConfig;
+import com.solutions.it.reports.ExtentManager;
+import com.solutions.it.utils.TestLogCapture;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * State of the test method running on the current thread: its report node, API client and
+ * config, phase timers, artifacts and log capture.
+ * <p>
+ * TestNG runs a method's {@code @BeforeMethod}, listener callbacks and {@code @AfterMethod} on
+ * the thread that runs the method, so {@link BaseTest}, {@link BaseApiTest} and the listener
+ * share one context per test without locking, however many methods of a class run in parallel.
+ * Only the artifact list is written from other threads (the screenshot writers).
+ */
+public final class TestContext {
+    private static final ThreadLocal<TestContext> CURRENT = new ThreadLocal<>();
+    
+    private final String name;
+    private final ExtentTest reportNode;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> timerStarts = new LinkedHashMap<>();
+    private final Map<String, Long> timings = new LinkedHashMap<>();
+    private final Queue<Path> artifacts = new ConcurrentLinkedQueue<>();
+    private final String logCaptureId;
+    private ITestResult result;
+    private RestAssuredClient apiClient;
+    private ApiConfig apiConfig;
+    
+    private TestContext(String name, String description) {
+        this.name = name;
+        this.reportNode = ExtentManager.createTest(name, description);
+        this.logCaptureId = TestLogCapture.begin(name);
+    }
+    
+    /**
+     * Opens a context for a test about to run on this thread. A context left open by a previous
+     * test on this thread is closed first.
+     * 
+     * @param name the test name
+     * @param description the test description shown in the report
+     * @return the new context
+     */
+    public static TestContext open(String name, String description) {
+        close();
+        TestContext context = new TestContext(name, description);
+        CURRENT.set(context);
+        return context;
+    }
+    
+    /**
+     * Gets the context of a started test: the one opened by a base class {@code @BeforeMethod} on
+     * this thread, or a new one when the test has no base class setup
+     * 
+     * @param result the started test
+     * @return the context bound to the test
+     */
+    public static TestContext forResult(ITestResult result) {
+        TestContext context = CURRENT.get();
+        if (context == null || (context.result != null && context.result != result)) {
+            context = open(result.getMethod().getMethodName(), result.getMethod().getDescription());
+        }
+        context.result = result;
+        return context;
+    }
+    
+    /**
+     * Gets the context of the test running on this thread
+     * 
+     * @return the context, or null outside a test
+     */
+    public static TestContext current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Ends the current test's log capture and report node and releases the context.
+     * The captured log is kept, and linked from the report, only if the test failed or is retried.
+     * The thread's configuration overrides are dropped.
+     */
+    public static void close() {
+        TestContext context = CURRENT.get();
+        if (context != null) {
+            CURRENT.remove();
+            Path log = TestLogCapture.end(context.logCaptureId, context.keepsLog());
+            if (log != null) {
+                context.addArtifact(log);
+                Path reports = ExtentManager.getEventsFile().toAbsolutePath().getParent();
+                String href = reports.relativize(log.toAbsolutePath()).toString().replace('\\', '/');
+                context.reportNode.info("Test log: <a href='" + href + "'>" + log.getFileName() + "</a>");
+            }
+            ExtentManager.endTest(context.reportNode);
+        }
+        // Overrides set by this test (e.g. its browser) must not carry over to the next one on the thread
+        FrameworkConfig.getInstance().clearThreadOverrides();
+    }
+    
+    private boolean keepsLog() {
+        // Without a listener the outcome is unknown, so the log is kept
+        return result == null || result.getStatus() == ITestResult.FAILURE || result.wasRetried();
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public ExtentTest getReportNode() {
+        return reportNode;
+    }
+    
+    public ITestResult getResult() {
+        return result;
+    }
+    
+    public RestAssuredClient getApiClient() {
+        return apiClient;
+    }
+    
+    public TestContext setApiClient(RestAssuredClient apiClient) {
+        this.apiClient = apiClient;
+        return this;
+    }
+    
+    public ApiConfig getApiConfig() {
+        return apiConfig;
+    }
+    
+    public TestContext setApiConfig(ApiConfig apiConfig) {
+        this.apiConfig = apiConfig;
+        return this;
+    }
+    
+    /**
+     * Starts timing a phase of the test
+     * 
+     * @param phase the phase name, e.g. "setUp"
+     */
+    public void startTimer(String phase) {
+        timerStarts.put(phase, System.nanoTime());
+    }
+    
+    /**
+     * Stops timing a phase and adds the elapsed time to the phase total
+     * 
+     * @param phase the phase name
+     * @return the elapsed nanoseconds, or 0 if the timer was not started
+     */
+    public long stopTimer(String phase) {
+        Long start = timerStarts.remove(phase);
+        if (start == null) {
+            return 0;
+        }
+        long elapsed = System.nanoTime() - start;
+        timings.merge(phase, elapsed, Long::sum);
+        return elapsed;
+    }
+    
+    /**
+     * Gets the total nanoseconds spent in each timed phase
+     * 
+     * @return the phase timings in start order
+     */
+    public Map<String, Long> getTimings() {
+        return Collections.unmodifiableMap(timings);
+    }
+    
+    /**
+     * Gets the nanoseconds since the context was opened
+     * 
+     * @return the elapsed time
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+    
+    /**
+     * Records a file produced by the test, such as a screenshot. Safe to call from any thread.
+     * 
+     * @param artifact the file
+     */
+    public void addArtifact(Path artifact) {
+        artifacts.add(artifact);
+    }
+    
+    public List<Path> getArtifacts() {
+        return new ArrayList<>(artifacts);
+    }
+}
@@ -0,0 +1,381 @@
+package com.solutions.it.config;
+
+import com.solutions.it.utils.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Resolves configuration for one environment from four layers, each overriding the previous:
+ * <ol>
+ *     <li>defaults: {@code config.properties}</li>
+ *     <li>environment file: {@code <env>.properties} (qa, staging, demo)</li>
+ *     <li>system properties: {@code -Dapi.baseUrl=...}</li>
+ *     <li>environment variables: {@value #ENV_PREFIX} followed by the key upper-cased with other
+ *     characters replaced by '_', e.g. {@code AIF_API_BASEURL}, plus the Docker aliases
+ *     SELENIUM_REMOTE and SELENIUM_GRID_URL</li>
+ * </ol>
+ * The prefix keeps variables every machine sets, such as USERNAME or URL, from replacing
+ * framework settings. Files are read from the classpath, so resolution works from a jar, in the
+ * Docker image and from any working directory. Layers are merged once into an index that is
+ * replaced as a whole on reload, so lookups of keys the files define are a single map read without
+ * locks. Keys no file defines, read with a default in code, are looked up in the system properties
+ * and environment variables when they are read.
+ * <p>
+ * With config.reload.enabled the files are watched, when they are plain files on the
+ * classpath, and changes are applied without restarting the JVM.
+ */
+public final class ConfigResolver {
+    /** System property, or environment variable AIF_ENV, selecting the environment file */
+    public static final String ENV_KEY = "env";
+    /** Prefix of the environment variables that override properties */
+    public static final String ENV_PREFIX = "AIF_";
+    public static final String DEFAULT_ENV = "qa";
+    private static final String DEFAULTS_FILE = "config.properties";
+    private static final Map<String, String> ENV_ALIASES = new HashMap<>();
+    private static final Map<String, ConfigResolver> RESOLVERS = new ConcurrentHashMap<>();
+    private static volatile ConfigResolver defaultResolver;
+    
+    static {
+        ENV_ALIASES.put("remote.execution", "SELENIUM_REMOTE");
+        ENV_ALIASES.put("grid.url", "SELENIUM_GRID_URL");
+    }
+    
+    private final String environment;
+    private final List<Consumer<ConfigResolver>> reloadListeners = new CopyOnWriteArrayList<>();
+    private volatile Map<String, String> index;
+    private volatile Map<String, String> sources;
+    private final AtomicLong reloads = new AtomicLong();
+    private WatchService watcher;
+    
+    private ConfigResolver(String environment) {
+        this.environment = environment;
+        resolve();
+        if (Boolean.parseBoolean(get("config.reload.enabled", "false").trim())) {
+            startWatcher();
+        }
+    }
+    
+    /**
+     * Gets the resolver of the environment selected for the run: the {@code env} system
+     * property, the AIF_ENV environment variable, the {@code env} key of config.properties, or qa
+     * 
+     * @return the resolver
+     */
+    public static ConfigResolver getInstance() {
+        ConfigResolver result = defaultResolver;
+        if (result == null) {
+            synchronized (ConfigResolver.class) {
+                result = defaultResolver;
+                if (result == null) {
+                    result = forEnvironment(selectEnvironment());
+                    defaultResolver = result;
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Gets the resolver of an environment, loading it on first use
+     * 
+     * @param environment the environment name, matching a {@code <env>.properties} file
+     * @return the resolver
+     */
+    public static ConfigResolver forEnvironment(String environment) {
+        return RESOLVERS.computeIfAbsent(environment.trim().toLowerCase(Locale.ENGLISH), ConfigResolver::new);
+    }
+    
+    /**
+     * Gets a resolved value
+     * 
+     * @param key the property key
+     * @return the value, or null if no layer defines it
+     */
+    public String get(String key) {
+        String value = index.get(key);
+        return value != null ? value : lookupOverride(key);
+    }
+    
+    /**
+     * Gets a resolved value with a default
+     * 
+     * @param key the property key
+     * @param defaultValue returned when no layer defines the key
+     * @return the value
+     */
+    public String get(String key, String defaultValue) {
+        String value = get(key);
+        return value != null ? value : defaultValue;
+    }
+    
+    /**
+     * Gets the layer a value was resolved from, for diagnosing overrides
+     * 
+     * @param key the property key
+     * @return e.g. "qa.properties" or "system property", or null if no layer defines the key
+     */
+    public String getSource(String key) {
+        String source = sources.get(key);
+        if (source != null) {
+            return source;
+        }
+        if (environmentValue(key) != null) {
+            return "environment variable";
+        }
+        return System.getProperty(key) != null ? "system property" : null;
+    }
+    
+    /**
+     * Gets the values resolved for the keys the files define. The map is immutable; a reload
+     * replaces it.
+     * 
+     * @return the values
+     */
+    public Map<String, String> asMap() {
+        return index;
+    }
+    
+    /**
+     * Copies the resolved values into a Properties object
+     * 
+     * @return the copy
+     */
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        properties.putAll(index);
+        return properties;
+    }
+    
+    public String getEnvironment() {
+        return environment;
+    }
+    
+    /**
+     * Gets the number of times the files were reloaded after a change
+     * 
+     * @return the reload count
+     */
+    public long getReloadCount() {
+        return reloads.get();
+    }
+    
+    /**
+     * Registers a callback run after each reload, on the watcher thread
+     * 
+     * @param listener receives this resolver
+     */
+    public void addReloadListener(Consumer<ConfigResolver> listener) {
+        reloadListeners.add(listener);
+    }
+    
+    /**
+     * Reads the layers again and replaces the index. If a file cannot be read the previous
+     * values are kept.
+     * 
+     * @return true if the values were replaced
+     */
+    public boolean reload() {
+        try {
+            resolve();
+        } catch (RuntimeException e) {
+            Log.error("Configuration reload failed, keeping previous values: {}", e.getMessage());
+            return false;
+        }
+        reloads.incrementAndGet();
+        Log.info("Configuration reloaded for environment {}", environment);
+        for (Consumer<ConfigResolver> listener : reloadListeners) {
+            try {
+                listener.accept(this);
+            } catch (RuntimeException e) {
+                Log.error("Configuration reload listener failed", e);
+            }
+        }
+        return true;
+    }
+    
+    private synchronized void resolve() {
+        Map<String, String> values = new HashMap<>();
+        Map<String, String> origins = new HashMap<>();
+        putAll(values, origins, load(DEFAULTS_FILE), DEFAULTS_FILE);
+        String envFile = environment + ".properties";
+        putAll(values, origins, load(envFile), envFile);
+        
+        for (String key : values.keySet().toArray(new String[0])) {
+            String systemValue = System.getProperty(key);
+            if (systemValue != null) {
+                values.put(key, systemValue);
+                origins.put(key, "system property");
+            }
+            String envValue = environmentValue(key);
+            if (envValue != null) {
+                values.put(key, envValue);
+                origins.put(key, "environment variable");
+            }
+        }
+        this.index = Collections.unmodifiableMap(values);
+        this.sources = Collections.unmodifiableMap(origins);
+    }
+    
+    private static void putAll(Map<String, String> values, Map<String, String> origins, Properties properties, String origin) {
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key));
+            origins.put(key, origin);
+        }
+    }
+    
+    private static Properties load(String fileName) {
+        Properties properties = new Properties();
+        try (InputStream input = ConfigResolver.class.getClassLoader().getResourceAsStream(fileName)) {
+            if (input == null) {
+                throw new IllegalStateException("Configuration file not found on the classpath: " + fileName);
+            }
+            properties.load(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load configuration file: " + fileName, e);
+        }
+        return properties;
+    }
+    
+    /**
+     * Gets the value of a key no file defines from the system properties or environment variables,
+     * with the same precedence as the layers
+     * 
+     * @param key the property key
+     * @return the environment variable, else the system property, or null if neither is set
+     */
+    static String lookupOverride(String key) {
+        String envValue = environmentValue(key);
+        return envValue != null ? envValue : System.getProperty(key);
+    }
+    
+    private static String environmentValue(String key) {
+        String value = System.getenv(toEnvironmentName(key));
+        if (value == null && ENV_ALIASES.containsKey(key)) {
+            value = System.getenv(ENV_ALIASES.get(key));
+        }
+        return value != null && !value.isEmpty() ? value : null;
+    }
+    
+    /**
+     * Maps a property key to the environment variable overriding it, e.g. api.baseUrl to AIF_API_BASEURL
+     * 
+     * @param key the property key
+     * @return the variable name
+     */
+    static String toEnvironmentName(String key) {
+        return ENV_PREFIX + key.toUpperCase(Locale.ENGLISH).replaceAll("[^A-Z0-9]", "_");
+    }
+    
+    private static String selectEnvironment() {
+        String environment = System.getProperty(ENV_KEY);
+        if (environment == null || environment.trim().isEmpty()) {
+            environment = System.getenv(toEnvironmentName(ENV_KEY));
+        }
+        if (environment == null || environment.trim().isEmpty()) {
+            environment = load(DEFAULTS_FILE).getProperty(ENV_KEY);
+        }
+        if (environment == null || environment.trim().isEmpty()) {
+            Log.warn("Environment not specified, using default: {}", DEFAULT_ENV);
+            environment = DEFAULT_ENV;
+        }
+        return environment;
+    }
+    
+    private void startWatcher() {
+        Set<Path> directories = new LinkedHashSet<>();
+        for (String fileName : new String[] {DEFAULTS_FILE, environment + ".properties"}) {
+            Path file = toFile(fileName);
+            if (file == null) {
+                Log.warn("Configuration reload disabled for {}: not a file on the classpath", fileName);
+                return;
+            }
+            directories.add(file.getParent());
+        }
+        try {
+            watcher = FileSystems.getDefault().newWatchService();
+            for (Path directory : directories) {
+                directory.register(watcher, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            }
+        } catch (IOException e) {
+            Log.warn("Configuration reload disabled: {}", e.getMessage());
+            return;
+        }
+        Thread thread = new Thread(this::watch, "config-watcher-" + environment);
+        thread.setDaemon(true);
+        thread.start();
+        Log.info("Watching configuration files of environment {} in {}", environment, directories);
+    }
+    
+    private void watch() {
+        String envFile = environment + ".properties";
+        long debounceMillis = Long.parseLong(get("config.reload.debounce.ms", "200").trim());
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Object context = event.context();
+                    String name = context != null ? context.toString() : "";
+                    changed |= DEFAULTS_FILE.equals(name) || envFile.equals(name);
+                }
+                key.reset();
+                if (changed) {
+                    // Editors write a file in several steps; wait for the last one
+                    Thread.sleep(debounceMillis);
+                    drain();
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Watcher closed, stop watching
+        }
+    }
+    
+    private void drain() {
+        WatchKey key;
+        while ((key = watcher.poll()) != null) {
+            key.pollEvents();
+            key.reset();
+        }
+    }
+    
+    private static Path toFile(String fileName) {
+        URL url = ConfigResolver.class.getClassLoader().getResource(fileName);
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            Path file = Paths.get(url.toURI());
+            return Files.isRegularFile(file) ? file : null;
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+}
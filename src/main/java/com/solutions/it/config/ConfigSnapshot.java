@@ -0,0 +1,175 @@
+package com.solutions.it.config;
+
+import com.solutions.it.drivers.LaunchProfile;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable view of the framework configuration with the frequently read settings parsed once.
+ * Overrides never modify a snapshot; {@link #with(Map)} returns a new one, so a snapshot can be
+ * shared between threads and read without locks.
+ */
+public final class ConfigSnapshot {
+    private final Map<String, String> values;
+    private final Map<String, String> overrides;
+    private final Map<String, Object> parsed = new ConcurrentHashMap<>();
+    
+    private final String browser;
+    private final String applicationUrl;
+    private final boolean headless;
+    private final LaunchProfile launchProfile;
+    private final boolean remoteExecution;
+    private final String gridUrl;
+    private final long explicitWaitSeconds;
+    private final long shortWaitSeconds;
+    private final long pageLoadTimeoutSeconds;
+    private final long pageQuietPeriodMillis;
+    private final long pageDomSettleMaxMillis;
+    private final String sessionKey;
+    
+    private ConfigSnapshot(Map<String, String> values, Map<String, String> overrides) {
+        this.values = Collections.unmodifiableMap(values);
+        this.overrides = Collections.unmodifiableMap(overrides);
+        this.browser = get("browser", "chrome");
+        this.applicationUrl = get("url", null);
+        this.headless = Boolean.parseBoolean(get("headless", "false"));
+        this.launchProfile = LaunchProfile.fromName(get("launch.profile", null));
+        this.remoteExecution = Boolean.parseBoolean(get("remote.execution", "false"));
+        this.gridUrl = get("grid.url", "http://localhost:4444/wd/hub");
+        this.explicitWaitSeconds = Long.parseLong(get("explicit.wait", "20"));
+        this.shortWaitSeconds = Long.parseLong(get("short.wait", "5"));
+        this.pageLoadTimeoutSeconds = Long.parseLong(get("page.load.timeout", "30"));
+        this.pageQuietPeriodMillis = Long.parseLong(get("page.quiet.period.ms", "250"));
+        this.pageDomSettleMaxMillis = Long.parseLong(get("page.dom.settle.max.ms", "2000"));
+        this.sessionKey = browser.toLowerCase(Locale.ENGLISH) + "|headless=" + headless + "|profile=" + launchProfile
+                + (remoteExecution ? "|remote=" + gridUrl : "|local") + "|pageLoad=" + pageLoadTimeoutSeconds;
+    }
+    
+    /**
+     * Creates the base snapshot from resolved values
+     * 
+     * @param values the values, see {@link ConfigResolver}
+     * @return the snapshot
+     */
+    static ConfigSnapshot of(Map<String, String> values) {
+        return new ConfigSnapshot(new HashMap<>(values), Collections.emptyMap());
+    }
+    
+    /**
+     * Creates a snapshot with some values overridden
+     * 
+     * @param changes the keys to override and their values
+     * @return a new snapshot; this one is unchanged
+     */
+    public ConfigSnapshot with(Map<String, String> changes) {
+        Map<String, String> newValues = new HashMap<>(values);
+        Map<String, String> newOverrides = new HashMap<>(overrides);
+        newValues.putAll(changes);
+        newOverrides.putAll(changes);
+        return new ConfigSnapshot(newValues, newOverrides);
+    }
+    
+    /**
+     * Gets a raw value. Keys no configuration file defines fall back to the system properties
+     * and environment variables, see {@link ConfigResolver#lookupOverride(String)}.
+     * 
+     * @param key the property key
+     * @return the value, or null if not set
+     */
+    public String getProperty(String key) {
+        String value = values.get(key);
+        return value != null ? value : ConfigResolver.lookupOverride(key);
+    }
+    
+    /**
+     * Gets a value parsed once per snapshot, key and type, so the same key can be read as
+     * different types
+     * 
+     * @param key the property key
+     * @param type the type the parser returns
+     * @param parser converts the trimmed value
+     * @return the parsed value
+     */
+    public <T> T getParsed(String key, Class<T> type, Function<String, T> parser) {
+        Object value = parsed.computeIfAbsent(key + '\0' + type.getName(), k -> {
+            String raw = getProperty(key);
+            return parser.apply(raw != null ? raw.trim() : null);
+        });
+        return type.cast(value);
+    }
+    
+    /**
+     * Gets the values overridden from the base configuration
+     * 
+     * @return the overrides
+     */
+    public Map<String, String> getOverrides() {
+        return overrides;
+    }
+    
+    public String getBrowser() {
+        return browser;
+    }
+    
+    public String getApplicationUrl() {
+        return applicationUrl;
+    }
+    
+    public boolean isHeadless() {
+        return headless;
+    }
+    
+    public LaunchProfile getLaunchProfile() {
+        return launchProfile;
+    }
+    
+    public boolean isRemoteExecution() {
+        return remoteExecution;
+    }
+    
+    public String getGridUrl() {
+        return gridUrl;
+    }
+    
+    public long getExplicitWaitSeconds() {
+        return explicitWaitSeconds;
+    }
+    
+    public long getShortWaitSeconds() {
+        return shortWaitSeconds;
+    }
+    
+    public long getPageLoadTimeoutSeconds() {
+        return pageLoadTimeoutSeconds;
+    }
+    
+    public long getPageQuietPeriodMillis() {
+        return pageQuietPeriodMillis;
+    }
+    
+    public long getPageDomSettleMaxMillis() {
+        return pageDomSettleMaxMillis;
+    }
+    
+    /**
+     * Gets the settings a browser session is started with: browser, headless mode, launch
+     * profile, local or remote grid, and page load timeout. Two snapshots with the same key
+     * start interchangeable sessions, so pooled and pre-spawned sessions are matched on it.
+     * 
+     * @return the session key
+     */
+    public String getSessionKey() {
+        return sessionKey;
+    }
+    
+    private String get(String key, String defaultValue) {
+        String value = getProperty(key);
+        return value != null && !value.trim().isEmpty() ? value.trim() : defaultValue;
+    }
+}
+
@@ -1,32 +1,82 @@
 package com.solutions.it.config;
 
-import com.solutions.it.utils.ConfigReader;
+import com.solutions.it.drivers.LaunchProfile;
 import com.solutions.it.utils.Log;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Properties;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Centralized configuration management for the framework.
  * Uses a singleton pattern with builder for flexible configuration.
+ * <p>
+ * Values are resolved by {@link ConfigResolver} and read from an immutable {@link ConfigSnapshot},
+ * so getters take no lock and the typed settings are parsed once. Runtime overrides (the
+ * {@link Builder}, {@link #setDynamicProperty})
+ * apply to the calling thread only: each parallel test sees its own browser, headless mode and
+ * timeouts until {@link #clearThreadOverrides()} is called at the end of the test.
  */
 public class FrameworkConfig {
-    private static FrameworkConfig instance;
-    private final Properties properties;
-    private final Map<String, Object> dynamicConfig;
+    private static volatile FrameworkConfig instance;
+    private volatile ConfigSnapshot base;
+    private final ThreadLocal<ConfigSnapshot> threadOverrides = new ThreadLocal<>();
     
     private FrameworkConfig() {
-        this.properties = ConfigReader.loadProperties();
-        this.dynamicConfig = new HashMap<>();
+        ConfigResolver resolver = ConfigResolver.getInstance();
+        this.base = ConfigSnapshot.of(resolver.asMap());
+        // Tests started after a reload see the new values; running tests keep their overrides
+        resolver.addReloadListener(reloaded -> base = ConfigSnapshot.of(reloaded.asMap()));
         Log.info("Framework configuration initialized");
     }
     
-    public static synchronized FrameworkConfig getInstance() {
-        if (instance == null) {
-            instance = new FrameworkConfig();
+    public static FrameworkConfig getInstance() {
+        FrameworkConfig result = instance;
+        if (result == null) {
+            synchronized (FrameworkConfig.class) {
+                result = instance;
+                if (result == null) {
+                    result = new FrameworkConfig();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Gets the configuration seen by the current thread: the base snapshot with this thread's
+     * overrides applied
+     * 
+     * @return the snapshot
+     */
+    public ConfigSnapshot current() {
+        ConfigSnapshot overridden = threadOverrides.get();
+        return overridden != null ? overridden : base;
+    }
+    
+    /**
+     * Runs an action on this thread with another thread's configuration, e.g. a background task
+     * creating a driver for a test
+     * 
+     * @param snapshot the configuration to apply, usually captured with {@link #current()}
+     * @param action the action to run
+     * @return the action's result
+     */
+    public <T> T callWith(ConfigSnapshot snapshot, Supplier<T> action) {
+        ConfigSnapshot previous = threadOverrides.get();
+        threadOverrides.set(snapshot);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                threadOverrides.set(previous);
+            } else {
+                threadOverrides.remove();
+            }
         }
-        return instance;
     }
     
     /**
@@ -36,7 +86,7 @@ public class FrameworkConfig {
      * @return The property value
      */
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return current().getProperty(key);
     }
     
     /**
@@ -47,7 +97,8 @@ public class FrameworkConfig {
      * @return The property value or default value
      */
     public String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        String value = current().getProperty(key);
+        return value != null ? value : defaultValue;
     }
     
     /**
@@ -57,7 +108,7 @@ public class FrameworkConfig {
      * @return The boolean value
      */
     public boolean getBooleanProperty(String key) {
-        return Boolean.parseBoolean(properties.getProperty(key));
+        return current().getParsed(key, Boolean.class, Boolean::parseBoolean);
     }
     
     /**
@@ -67,7 +118,7 @@ public class FrameworkConfig {
      * @return The integer value
      */
     public int getIntProperty(String key) {
-        return Integer.parseInt(properties.getProperty(key));
+        return current().getParsed(key, Integer.class, Integer::parseInt);
     }
     
     /**
@@ -77,29 +128,57 @@ public class FrameworkConfig {
      * @return The long value
      */
     public long getLongProperty(String key) {
-        return Long.parseLong(properties.getProperty(key));
+        return current().getParsed(key, Long.class, Long::parseLong);
     }
     
     /**
-     * Sets a dynamic configuration value at runtime
+     * Gets a property converted once per configuration snapshot. Callers reading the same key
+     * as the same type must use the same parser.
+     * 
+     * @param key The property key
+     * @param type The type the parser returns
+     * @param parser Converts the trimmed value, which is null when the key is not set
+     * @return The converted value
+     */
+    public <T> T getParsedProperty(String key, Class<T> type, Function<String, T> parser) {
+        return current().getParsed(key, type, parser);
+    }
+    
+    /**
+     * Sets a dynamic configuration value at runtime for the current thread
      * 
      * @param key The configuration key
      * @param value The value to set
      */
     public void setDynamicProperty(String key, Object value) {
-        dynamicConfig.put(key, value);
-        Log.info("Dynamic config set: " + key + " = " + value);
+        setThreadOverrides(Collections.singletonMap(key, String.valueOf(value)));
     }
     
     /**
-     * Gets a dynamic configuration value
+     * Gets a dynamic configuration value set on the current thread
      * 
      * @param key The configuration key
-     * @return The configuration value
+     * @return The configuration value, or null if not overridden
      */
     @SuppressWarnings("unchecked")
     public <T> T getDynamicProperty(String key) {
-        return (T) dynamicConfig.get(key);
+        return (T) current().getOverrides().get(key);
+    }
+    
+    /**
+     * Drops the current thread's overrides, so the next test on the thread starts from the base
+     * configuration
+     */
+    public void clearThreadOverrides() {
+        threadOverrides.remove();
+    }
+    
+    private void setThreadOverrides(Map<String, String> overrides) {
+        if (overrides.isEmpty()) {
+            return;
+        }
+        threadOverrides.set(current().with(overrides));
+        Log.info("Dynamic config set for thread {}: {}", Thread.currentThread().getName(), overrides);
     }
     
     /**
@@ -108,7 +187,7 @@ public class FrameworkConfig {
      * @return The browser name
      */
     public String getBrowser() {
-        return getProperty("browser", "chrome");
+        return current().getBrowser();
     }
     
     /**
@@ -117,7 +196,7 @@ public class FrameworkConfig {
      * @return The application URL
      */
     public String getApplicationUrl() {
-        return getProperty("url");
+        return current().getApplicationUrl();
     }
     
     /**
@@ -126,7 +205,16 @@ public class FrameworkConfig {
      * @return true if headless mode is enabled
      */
     public boolean isHeadless() {
-        return getBooleanProperty("headless");
+        return current().isHeadless();
+    }
+    
+    /**
+     * Gets the browser launch profile (default or fast)
+     * 
+     * @return The launch profile
+     */
+    public LaunchProfile getLaunchProfile() {
+        return current().getLaunchProfile();
     }
     
     /**
@@ -135,14 +223,8 @@ public class FrameworkConfig {
      * @return true if remote execution is enabled
      */
     public boolean isRemoteExecution() {
-        // Check environment variable first (for Docker)
-        String remoteEnv = System.getenv("SELENIUM_REMOTE");
-        if (remoteEnv != null && !remoteEnv.isEmpty()) {
-            return Boolean.parseBoolean(remoteEnv);
-        }
-        
-        // Otherwise check config property
-        return getBooleanProperty("remote.execution");
+        // SELENIUM_REMOTE (set for Docker) is applied over the config file when the snapshot is built
+        return current().isRemoteExecution();
     }
     
     /**
@@ -151,32 +233,26 @@ public class FrameworkConfig {
      * @return the Grid URL
      */
     public String getGridUrl() {
-        // Check environment variable first (for Docker)
-        String gridUrlEnv = System.getenv("SELENIUM_GRID_URL");
-        if (gridUrlEnv != null && !gridUrlEnv.isEmpty()) {
-            return gridUrlEnv;
-        }
-        
-        // Otherwise check config property
-        return getProperty("grid.url", "http://localhost:4444/wd/hub");
+        // SELENIUM_GRID_URL (set for Docker) is applied over the config file when the snapshot is built
+        return current().getGridUrl();
     }
     
     /**
-     * Gets the implicit wait timeout in seconds
+     * Gets the explicit wait timeout in seconds
      * 
-     * @return The implicit wait timeout
+     * @return The explicit wait timeout
      */
-    public long getImplicitWaitTimeout() {
-        return getLongProperty("implicit.wait");
+    public long getExplicitWaitTimeout() {
+        return current().getExplicitWaitSeconds();
     }
     
     /**
-     * Gets the explicit wait timeout in seconds
+     * Gets the timeout in seconds for quick presence checks
      * 
-     * @return The explicit wait timeout
+     * @return The short wait timeout
      */
-    public long getExplicitWaitTimeout() {
-        return getLongProperty("explicit.wait");
+    public long getShortWaitTimeout() {
+        return current().getShortWaitSeconds();
     }
     
     /**
@@ -185,7 +261,25 @@ public class FrameworkConfig {
      * @return The page load timeout
      */
     public long getPageLoadTimeout() {
-        return getLongProperty("page.load.timeout");
+        return current().getPageLoadTimeoutSeconds();
+    }
+    
+    /**
+     * Gets how long a page must stay idle to count as loaded
+     * 
+     * @return The quiet period in milliseconds
+     */
+    public long getPageQuietPeriodMillis() {
+        return current().getPageQuietPeriodMillis();
+    }
+    
+    /**
+     * Gets how long DOM changes may keep delaying a page load once the network is quiet
+     * 
+     * @return The limit in milliseconds
+     */
+    public long getPageDomSettleMaxMillis() {
+        return current().getPageDomSettleMaxMillis();
     }
     
     /**
@@ -216,46 +310,132 @@ public class FrameworkConfig {
     }
     
     /**
-     * Builder for dynamic configuration
+     * Checks if browser sessions should be pooled and reused between tests
+     * 
+     * @return true if driver pooling is enabled
+     */
+    public boolean isDriverPoolEnabled() {
+        return getParsedProperty("driver.pool.enabled", Boolean.class, value -> Boolean.parseBoolean(value != null ? value : "false"));
+    }
+    
+    /**
+     * Gets the maximum number of live pooled browser sessions
+     * 
+     * @return the pool size
+     */
+    public int getDriverPoolSize() {
+        return getParsedProperty("driver.pool.size", Integer.class, value -> Integer.parseInt(value != null ? value : "3"));
+    }
+    
+    /**
+     * Gets the number of leases after which a pooled session is recycled
+     * 
+     * @return the maximum uses per session
+     */
+    public int getDriverPoolMaxUses() {
+        return getParsedProperty("driver.pool.max.uses", Integer.class, value -> Integer.parseInt(value != null ? value : "20"));
+    }
+    
+    /**
+     * Gets the JS heap size in MB after which a pooled session is recycled
+     * 
+     * @return the memory threshold in MB, 0 to disable
+     */
+    public long getDriverPoolMaxMemoryMb() {
+        return getParsedProperty("driver.pool.max.memory.mb", Long.class, value -> Long.parseLong(value != null ? value : "512"));
+    }
+    
+    /**
+     * Gets how long a test waits for a free pooled session
+     * 
+     * @return the lease timeout in seconds
+     */
+    public long getDriverPoolLeaseTimeout() {
+        return getParsedProperty("driver.pool.lease.timeout", Long.class, value -> Long.parseLong(value != null ? value : "120"));
+    }
+    
+    /**
+     * Checks if the next browser session should be started in the background while a test runs
+     * 
+     * @return true if driver pre-spawning is enabled
+     */
+    public boolean isDriverPrespawnEnabled() {
+        return getParsedProperty("driver.prespawn.enabled", Boolean.class, value -> Boolean.parseBoolean(value != null ? value : "false"));
+    }
+    
+    /**
+     * Gets the maximum number of outstanding pre-spawned sessions per test thread
+     * 
+     * @return the per-thread cap
+     */
+    public int getDriverPrespawnMaxPerThread() {
+        return getParsedProperty("driver.prespawn.max.per.thread", Integer.class, value -> Integer.parseInt(value != null ? value : "1"));
+    }
+    
+    /**
+     * Gets the maximum number of outstanding pre-spawned sessions in the JVM
+     * 
+     * @return the per-JVM cap
+     */
+    public int getDriverPrespawnMaxTotal() {
+        return getParsedProperty("driver.prespawn.max.total", Integer.class, value -> Integer.parseInt(value != null ? value : "3"));
+    }
+    
+    /**
+     * Checks if every WebDriver command should be timed and attributed to its test and page method
+     * 
+     * @return true if command tracing is enabled
+     */
+    public boolean isCommandTracingEnabled() {
+        return getParsedProperty("driver.command.tracing.enabled", Boolean.class, value -> Boolean.parseBoolean(value != null ? value : "false"));
+    }
+    
+    /**
+     * Builder for dynamic configuration. The values apply to the calling thread when
+     * {@link #build()} is called.
      */
     public static class Builder {
+        private final Map<String, String> overrides = new LinkedHashMap<>();
+        
         public Builder headless(boolean headless) {
-            getInstance().setDynamicProperty("headless", headless);
+            overrides.put("headless", String.valueOf(headless));
             return this;
         }
         
         public Builder browser(String browser) {
-            getInstance().setDynamicProperty("browser", browser);
+            overrides.put("browser", browser);
             return this;
         }
         
-        public Builder remoteExecution(boolean remote) {
-            getInstance().setDynamicProperty("remote.execution", remote);
+        public Builder launchProfile(String profile) {
+            overrides.put("launch.profile", profile);
             return this;
         }
         
-        public Builder gridUrl(String url) {
-            getInstance().setDynamicProperty("grid.url", url);
+        public Builder remoteExecution(boolean remote) {
+            overrides.put("remote.execution", String.valueOf(remote));
             return this;
         }
         
-        public Builder implicitWait(long seconds) {
-            getInstance().setDynamicProperty("implicit.wait", seconds);
+        public Builder gridUrl(String url) {
+            overrides.put("grid.url", url);
             return this;
         }
         
         public Builder explicitWait(long seconds) {
-            getInstance().setDynamicProperty("explicit.wait", seconds);
+            overrides.put("explicit.wait", String.valueOf(seconds));
             return this;
         }
         
         public Builder pageLoadTimeout(long seconds) {
-            getInstance().setDynamicProperty("page.load.timeout", seconds);
+            overrides.put("page.load.timeout", String.valueOf(seconds));
             return this;
         }
         
         public FrameworkConfig build() {
-            return getInstance();
+            FrameworkConfig config = getInstance();
+            config.setThreadOverrides(overrides);
+            return config;
         }
     }
-} 
\ No newline at end of file
+}
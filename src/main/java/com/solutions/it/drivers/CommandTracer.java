@@ -0,0 +1,374 @@
+package com.solutions.it.drivers;
+
+import com.solutions.it.metrics.LatencyHistogram;
+import com.solutions.it.metrics.MetricsWriter;
+import com.solutions.it.metrics.PageMethodResolver;
+import com.solutions.it.utils.Log;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records every WebDriver command a session issues: command name, locator, duration and outcome,
+ * aggregated per command, per page-object method, per locator and per test.
+ * <p>
+ * Sessions are wrapped in plain JDK proxies rather than Selenium's {@code EventFiringDecorator},
+ * which generates a new class for every decorated driver and element and costs milliseconds per
+ * element. The tracer's own bookkeeping is measured and reported so its overhead stays visible.
+ * <p>
+ * Every command through a traced or {@link #watch(WebDriver) watched} session also counts as
+ * activity for the {@link SessionRegistry} watchdog, so a test busy with driver and element
+ * commands is never mistaken for an abandoned session.
+ */
+public final class CommandTracer {
+    private static final String REPORT_FILE = "driver-commands.json";
+    private static final int SLOWEST_LOCATORS = 10;
+    private static final Set<Class<?>> LOCAL_RESULT_TYPES = new LinkedHashSet<>(Arrays.asList(
+            WebDriver.Navigation.class, WebDriver.Options.class, WebDriver.TargetLocator.class,
+            WebDriver.Timeouts.class, WebDriver.Window.class));
+    private static final ClassValue<Class<?>[]> DRIVER_INTERFACES = new ClassValue<Class<?>[]>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            return proxyInterfaces(type, WrapsDriver.class);
+        }
+    };
+    private static final ClassValue<Class<?>[]> ELEMENT_INTERFACES = new ClassValue<Class<?>[]>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            return proxyInterfaces(type, WrapsElement.class);
+        }
+    };
+    private static final Map<Method, String> COMMAND_NAMES = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BY_COMMAND = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BY_PAGE_METHOD = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> BY_LOCATOR = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> ERRORS = new ConcurrentHashMap<>();
+    private static final Queue<Map<String, Object>> TESTS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<TestTrace> CURRENT_TEST = new ThreadLocal<>();
+    private static final LongAdder COMMANDS = new LongAdder();
+    private static final LongAdder OVERHEAD_NANOS = new LongAdder();
+
+    private CommandTracer() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Wraps a session so every command it issues is traced. Elements, navigation, window and
+     * frame handles obtained through the wrapper are traced as well.
+     *
+     * @param driver the session to trace
+     * @return the traced view of the session
+     */
+    public static WebDriver trace(WebDriver driver) {
+        return wrap(driver, true);
+    }
+
+    /**
+     * Wraps a session so every command it issues refreshes its activity in the
+     * {@link SessionRegistry}, without recording latencies
+     *
+     * @param driver the session to watch
+     * @return the watched view of the session
+     */
+    public static WebDriver watch(WebDriver driver) {
+        return wrap(driver, false);
+    }
+
+    private static WebDriver wrap(WebDriver driver, boolean recording) {
+        if (driver instanceof Proxy && Proxy.getInvocationHandler(driver) instanceof TracingHandler) {
+            return driver;
+        }
+        TracingHandler handler = new TracingHandler(driver, null, null, driver, recording);
+        WebDriver traced = (WebDriver) Proxy.newProxyInstance(CommandTracer.class.getClassLoader(),
+                DRIVER_INTERFACES.get(driver.getClass()), handler);
+        handler.driverView = traced;
+        return traced;
+    }
+
+    /**
+     * Gets the underlying session of a traced driver
+     *
+     * @param driver a traced or plain driver
+     * @return the plain driver
+     */
+    public static WebDriver unwrap(WebDriver driver) {
+        return driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+    }
+
+    /**
+     * Starts attributing the current thread's commands to a test
+     *
+     * @param testName the test name
+     */
+    public static void startTest(String testName) {
+        CURRENT_TEST.set(new TestTrace(testName));
+    }
+
+    /**
+     * Stops attributing commands to the current thread's test and logs its command count
+     */
+    public static void endTest() {
+        TestTrace trace = CURRENT_TEST.get();
+        CURRENT_TEST.remove();
+        if (trace == null || trace.commands == 0) {
+            return;
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("test", trace.name);
+        summary.put("commands", trace.commands);
+        summary.put("errors", trace.errors);
+        summary.put("commandMs", round(trace.nanos / 1_000_000.0));
+        TESTS.add(summary);
+        Log.info(() -> String.format("WebDriver commands for %s - %d commands (%d failed) taking %.1fms",
+                trace.name, trace.commands, trace.errors, trace.nanos / 1_000_000.0));
+    }
+
+    /**
+     * Writes commands per test, per-command and per-page-method latencies and the slowest
+     * locators to the metrics directory. Does nothing if no command was traced.
+     *
+     * @return the written file, or null if no command was traced
+     */
+    public static Path writeReport() {
+        long commands = COMMANDS.sum();
+        if (commands == 0) {
+            return null;
+        }
+
+        List<Map.Entry<String, LatencyHistogram>> locators = new ArrayList<>(BY_LOCATOR.entrySet());
+        locators.sort(Comparator.comparingDouble(
+                (Map.Entry<String, LatencyHistogram> entry) -> meanNanos(entry.getValue())).reversed());
+        Map<String, Object> slowest = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : locators.subList(0, Math.min(SLOWEST_LOCATORS, locators.size()))) {
+            slowest.put(entry.getKey(), entry.getValue().summary());
+        }
+
+        double overheadMicros = OVERHEAD_NANOS.sum() / 1000.0 / commands;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commands", commands);
+        report.put("tracingOverheadMicrosPerCommand", round(overheadMicros));
+        report.put("commandsPerTest", new ArrayList<>(TESTS));
+        report.put("slowestLocators", slowest);
+        report.put("byPageMethod", summaries(BY_PAGE_METHOD));
+        report.put("byCommand", summaries(BY_COMMAND));
+        Path file = MetricsWriter.write(REPORT_FILE, report);
+
+        Log.info(() -> String.format("WebDriver commands - %d traced over %d tests, tracing overhead %.2fus per command",
+                commands, TESTS.size(), overheadMicros));
+        if (!locators.isEmpty()) {
+            Log.info("Slowest locator: {} {}", locators.get(0).getKey(), locators.get(0).getValue().summary());
+        }
+        if (file != null) {
+            Log.info("WebDriver command trace written to: {}", file);
+        }
+        return file;
+    }
+
+    private static Map<String, Object> summaries(Map<String, LatencyHistogram> histograms) {
+        Map<String, Object> summaries = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            Map<String, Object> summary = new LinkedHashMap<>(entry.getValue().summary());
+            LongAdder errors = ERRORS.get(entry.getKey());
+            if (errors != null) {
+                summary.put("errors", errors.sum());
+            }
+            summaries.put(entry.getKey(), summary);
+        }
+        return summaries;
+    }
+
+    private static void record(Method method, String locator, long nanos, boolean failed) {
+        String command = COMMAND_NAMES.computeIfAbsent(method,
+                m -> m.getDeclaringClass().getSimpleName() + "." + m.getName());
+        COMMANDS.increment();
+        BY_COMMAND.computeIfAbsent(command, k -> new LatencyHistogram()).record(nanos);
+        BY_PAGE_METHOD.computeIfAbsent(PageMethodResolver.current(), k -> new LatencyHistogram()).record(nanos);
+        if (locator != null) {
+            BY_LOCATOR.computeIfAbsent(locator, k -> new LatencyHistogram()).record(nanos);
+        }
+        if (failed) {
+            ERRORS.computeIfAbsent(command, k -> new LongAdder()).increment();
+        }
+        TestTrace trace = CURRENT_TEST.get();
+        if (trace != null) {
+            trace.commands++;
+            trace.nanos += nanos;
+            if (failed) {
+                trace.errors++;
+            }
+        }
+    }
+
+    private static Class<?>[] proxyInterfaces(Class<?> type, Class<?> wrapperInterface) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            collectInterfaces(current, interfaces);
+        }
+        interfaces.add(wrapperInterface);
+        return interfaces.toArray(new Class<?>[0]);
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> candidate : type.getInterfaces()) {
+            // A proxy can only implement interfaces visible outside their package
+            if (Modifier.isPublic(candidate.getModifiers()) && interfaces.add(candidate)) {
+                collectInterfaces(candidate, interfaces);
+            }
+        }
+    }
+
+    private static double meanNanos(LatencyHistogram histogram) {
+        int count = histogram.getCount();
+        return count == 0 ? 0 : histogram.getTotalNanos() / (double) count;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * Times each call on a driver, element or driver-local handle and wraps what it returns
+     */
+    private static final class TracingHandler implements InvocationHandler {
+        private final Object target;
+        private final String locator;
+        private final WebDriver session;
+        private final boolean recording;
+        private WebDriver driverView;
+
+        private TracingHandler(Object target, String locator, WebDriver driverView, WebDriver session, boolean recording) {
+            this.target = target;
+            this.locator = locator;
+            this.driverView = driverView;
+            this.session = session;
+            this.recording = recording;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, method, args);
+            }
+            if (method.getDeclaringClass() == WrapsElement.class) {
+                return target;
+            }
+            if (method.getDeclaringClass() == WrapsDriver.class) {
+                // Elements such as RemoteWebElement wrap their driver too; hand out the traced driver, not the element
+                return target instanceof WebDriver ? target : driverView;
+            }
+
+            SessionRegistry.touch(session);
+            String commandLocator = args != null && args.length == 1 && args[0] instanceof By
+                    ? args[0].toString() : locator;
+            if (!recording) {
+                try {
+                    return wrapResult(method, method.invoke(target, args), commandLocator);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+            boolean failed = false;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                failed = true;
+                throw e.getCause();
+            } finally {
+                long end = System.nanoTime();
+                if (!LOCAL_RESULT_TYPES.contains(method.getReturnType())) {
+                    record(method, commandLocator, end - start, failed);
+                    OVERHEAD_NANOS.add(System.nanoTime() - end);
+                }
+            }
+            return wrapResult(method, result, commandLocator);
+        }
+
+        private Object wrapResult(Method method, Object result, String resultLocator) {
+            if (result == null) {
+                return null;
+            }
+            if (result instanceof WebDriver) {
+                // e.g. switchTo().frame() hands back the driver itself
+                return driverView;
+            }
+            if (result instanceof WebElement) {
+                return wrapElement((WebElement) result, resultLocator);
+            }
+            if (result instanceof List && method.getName().equals("findElements")) {
+                List<Object> elements = new ArrayList<>(((Collection<?>) result).size());
+                for (Object element : (Collection<?>) result) {
+                    elements.add(element instanceof WebElement ? wrapElement((WebElement) element, resultLocator) : element);
+                }
+                return elements;
+            }
+            Class<?> returnType = method.getReturnType();
+            if (LOCAL_RESULT_TYPES.contains(returnType) || returnType == Alert.class) {
+                return Proxy.newProxyInstance(CommandTracer.class.getClassLoader(), new Class<?>[] {returnType},
+                        new TracingHandler(result, null, driverView, session, recording));
+            }
+            return result;
+        }
+
+        private Object wrapElement(WebElement element, String elementLocator) {
+            return Proxy.newProxyInstance(CommandTracer.class.getClassLoader(),
+                    ELEMENT_INTERFACES.get(element.getClass()), new TracingHandler(element, elementLocator, driverView, session, recording));
+        }
+
+        private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "equals":
+                    Object other = args[0];
+                    if (other instanceof WrapsElement) {
+                        other = ((WrapsElement) other).getWrappedElement();
+                    } else if (other instanceof WrapsDriver) {
+                        other = ((WrapsDriver) other).getWrappedDriver();
+                    }
+                    return proxy == args[0] || target.equals(other);
+                case "hashCode":
+                    return target.hashCode();
+                default:
+                    return target.toString();
+            }
+        }
+    }
+
+    /**
+     * Command totals of the test running on one thread
+     */
+    private static final class TestTrace {
+        private final String name;
+        private long commands;
+        private long errors;
+        private long nanos;
+
+        private TestTrace(String name) {
+            this.name = name;
+        }
+    }
+}
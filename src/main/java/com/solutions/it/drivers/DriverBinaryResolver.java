@@ -0,0 +1,219 @@
+package com.solutions.it.drivers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solutions.it.config.FrameworkConfig;
+import com.solutions.it.utils.Log;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves browser driver binaries once per JVM and memoizes the result per browser.
+ * Resolved paths are recorded in an on-disk manifest (browser version to driver path)
+ * so later runs and air-gapped agents can skip version lookups and downloads entirely.
+ */
+public final class DriverBinaryResolver {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Map<String, String> DRIVER_PROPERTIES = Map.of(
+            "chrome", "webdriver.chrome.driver",
+            "firefox", "webdriver.gecko.driver",
+            "edge", "webdriver.edge.driver");
+    private static final Map<String, FutureTask<String>> RESOLVED = new ConcurrentHashMap<>();
+    private static final Object MANIFEST_LOCK = new Object();
+
+    private DriverBinaryResolver() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Makes sure the driver binary for the given browser is available.
+     * Only the first call per browser does any work; concurrent calls for the same browser wait
+     * for it and later calls return immediately. A failed resolution is retried by the next call.
+     *
+     * @param browser the browser name (chrome, firefox, edge)
+     */
+    public static void resolve(String browser) {
+        if (browser == null || !DRIVER_PROPERTIES.containsKey(browser)) {
+            // Safari ships its own driver, nothing to resolve
+            return;
+        }
+        // Resolved outside the map: a download can take seconds and must not block other browsers
+        FutureTask<String> task = RESOLVED.get(browser);
+        if (task == null) {
+            FutureTask<String> newTask = new FutureTask<>(() -> resolveOnce(browser));
+            task = RESOLVED.putIfAbsent(browser, newTask);
+            if (task == null) {
+                task = newTask;
+                task.run();
+            }
+        }
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while resolving the " + browser + " driver", e);
+        } catch (ExecutionException e) {
+            RESOLVED.remove(browser, task);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Failed to resolve the " + browser + " driver", cause);
+        }
+    }
+
+    private static String resolveOnce(String browser) {
+        long start = System.nanoTime();
+        WebDriverManager manager = managerFor(browser);
+        String browserVersion = detectBrowserVersion(manager, browser);
+        Map<String, String> manifest = readManifest();
+        // Without a detected version a recorded driver cannot be matched to the browser, so none is reused or recorded
+        String key = browserVersion != null ? browser + "@" + browserVersion : null;
+
+        String driverPath = key != null ? usablePath(manifest.get(key)) : null;
+        String source = "manifest";
+        if (driverPath == null && isOffline()) {
+            driverPath = latestEntryFor(manifest, browser);
+            source = "manifest (offline fallback)";
+        }
+
+        if (driverPath != null) {
+            System.setProperty(DRIVER_PROPERTIES.get(browser), driverPath);
+        } else {
+            manager.setup();
+            driverPath = manager.getDownloadedDriverPath();
+            source = "WebDriverManager";
+            if (driverPath != null && key != null) {
+                recordInManifest(key, driverPath);
+            }
+        }
+
+        Log.info("Resolved {} driver (browser {}) from {} in {}ms: {}", browser,
+                browserVersion != null ? browserVersion : "version unknown", source,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), driverPath);
+        return driverPath != null ? driverPath : "";
+    }
+
+    private static WebDriverManager managerFor(String browser) {
+        switch (browser) {
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            case "chrome":
+            default:
+                return WebDriverManager.chromedriver();
+        }
+    }
+
+    /**
+     * Detects the installed browser version using local shell commands only
+     *
+     * @return the version, or null if it could not be detected
+     */
+    private static String detectBrowserVersion(WebDriverManager manager, String browser) {
+        try {
+            Optional<String> version = new VersionDetector(manager.config(), null).getBrowserVersionFromTheShell(browser);
+            return version.filter(DriverBinaryResolver::isVersion).orElse(null);
+        } catch (Exception e) {
+            Log.warn("Could not detect {} version: {}", browser, e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isOffline() {
+        return Boolean.parseBoolean(FrameworkConfig.getInstance().getProperty("driver.resolution.offline", "false"));
+    }
+
+    private static Path manifestPath() {
+        String defaultPath = Paths.get(System.getProperty("user.home"), ".cache", "selenium", "driver-manifest.json").toString();
+        String configuredPath = FrameworkConfig.getInstance().getProperty("driver.manifest.path", "").trim();
+        return Paths.get(configuredPath.isEmpty() ? defaultPath : configuredPath);
+    }
+
+    private static String usablePath(String driverPath) {
+        return driverPath != null && Files.isRegularFile(Paths.get(driverPath)) ? driverPath : null;
+    }
+
+    /**
+     * Gets the usable driver recorded for the newest browser version, comparing versions numerically
+     * (120.0 is newer than 99.0). Entries without a numeric version are ignored.
+     */
+    static String latestEntryFor(Map<String, String> manifest, String browser) {
+        String latestVersion = null;
+        String latest = null;
+        for (Map.Entry<String, String> entry : manifest.entrySet()) {
+            if (!entry.getKey().startsWith(browser + "@")) {
+                continue;
+            }
+            String version = entry.getKey().substring(browser.length() + 1);
+            if (isVersion(version) && usablePath(entry.getValue()) != null
+                    && (latestVersion == null || compareVersions(version, latestVersion) > 0)) {
+                latestVersion = version;
+                latest = entry.getValue();
+            }
+        }
+        return latest;
+    }
+
+    private static boolean isVersion(String version) {
+        return version != null && version.matches("\\d+(\\.\\d+)*");
+    }
+
+    static int compareVersions(String first, String second) {
+        String[] a = first.split("\\.");
+        String[] b = second.split("\\.");
+        for (int i = 0; i < Math.max(a.length, b.length); i++) {
+            long left = i < a.length ? Long.parseLong(a[i]) : 0;
+            long right = i < b.length ? Long.parseLong(b[i]) : 0;
+            if (left != right) {
+                return Long.compare(left, right);
+            }
+        }
+        return 0;
+    }
+
+    private static Map<String, String> readManifest() {
+        Path path = manifestPath();
+        if (!Files.isRegularFile(path)) {
+            return new TreeMap<>();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(path.toFile(), new TypeReference<TreeMap<String, String>>() { });
+        } catch (IOException e) {
+            Log.warn("Ignoring unreadable driver manifest {}: {}", path, e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+
+    private static void recordInManifest(String key, String driverPath) {
+        Path path = manifestPath();
+        synchronized (MANIFEST_LOCK) {
+            Map<String, String> manifest = readManifest();
+            manifest.put(key, driverPath);
+            try {
+                Path parent = path.toAbsolutePath().getParent();
+                Files.createDirectories(parent);
+                // Write to a temp file first so concurrent agents never read a half-written manifest
+                Path tmp = Files.createTempFile(parent, "driver-manifest", ".tmp");
+                OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), manifest);
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Log.warn("Could not update driver manifest {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
@@ -1,94 +1,76 @@
 package com.solutions.it.drivers;
 
-import com.solutions.it.utils.ConfigReader;
+import com.solutions.it.config.FrameworkConfig;
 import com.solutions.it.utils.Log;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.safari.SafariDriver;
 
 import java.time.Duration;
 import java.util.Locale;
-import java.util.Properties;
 
 public class DriverFactory {
     
     public static WebDriver createDriver(String browser) {
         WebDriver driver;
-        Properties properties = ConfigReader.loadProperties();
-        boolean headless = Boolean.parseBoolean(properties.getProperty("headless"));
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        boolean headless = config.isHeadless();
         
-        if (Log.getLogger().isInfoEnabled()) {
-            Log.info("Creating driver for browser: " + browser);
-            Log.info("Headless mode: " + headless);
-        }
+        Log.info("Creating driver for browser: {}", browser);
+        Log.info("Headless mode: {}", headless);
         
         String browserName = browser != null ? browser.toLowerCase(Locale.ENGLISH) : "";
+        LaunchProfile profile = config.getLaunchProfile();
         
         switch (browserName) {
             case "chrome":
-                WebDriverManager.chromedriver().setup();
-                ChromeOptions chromeOptions = new ChromeOptions();
-                if (headless) {
-                    chromeOptions.addArguments("--headless");
-                    // Additional options for Jenkins/CI environment
-                    chromeOptions.addArguments("--no-sandbox");
-                    chromeOptions.addArguments("--disable-dev-shm-usage");
-                    chromeOptions.addArguments("--window-size=1920,1080");
-                }
-                chromeOptions.addArguments("--start-maximized");
-                chromeOptions.addArguments("--disable-notifications");
-                // Handle CI environments that might be using older browsers
-                chromeOptions.setAcceptInsecureCerts(true);
-                driver = new ChromeDriver(chromeOptions);
+                DriverBinaryResolver.resolve("chrome");
+                driver = new ChromeDriver(profile.chromeOptions(headless));
+                NetworkBlocker.attach(driver);
+                NetworkIdleTracker.attach(driver);
                 break;
                 
             case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                FirefoxOptions firefoxOptions = new FirefoxOptions();
-                if (headless) {
-                    firefoxOptions.addArguments("--headless");
-                    firefoxOptions.addArguments("--width=1920");
-                    firefoxOptions.addArguments("--height=1080");
-                }
-                firefoxOptions.setAcceptInsecureCerts(true);
-                driver = new FirefoxDriver(firefoxOptions);
+                DriverBinaryResolver.resolve("firefox");
+                driver = new FirefoxDriver(profile.firefoxOptions(headless));
                 break;
                 
             case "edge":
-                WebDriverManager.edgedriver().setup();
-                driver = new EdgeDriver();
+                DriverBinaryResolver.resolve("edge");
+                driver = new EdgeDriver(profile.edgeOptions(headless));
+                NetworkBlocker.attach(driver);
+                NetworkIdleTracker.attach(driver);
                 break;
                 
             case "safari":
-                driver = new SafariDriver();
+                driver = new SafariDriver(profile.safariOptions());
                 break;
                 
             default:
-                if (Log.getLogger().isWarnEnabled()) {
-                    Log.warn("Invalid browser specified, defaulting to Chrome");
-                }
-                WebDriverManager.chromedriver().setup();
-                driver = new ChromeDriver();
+                Log.warn("Invalid browser specified, defaulting to Chrome");
+                DriverBinaryResolver.resolve("chrome");
+                driver = new ChromeDriver(profile.chromeOptions(headless));
+                NetworkBlocker.attach(driver);
+                NetworkIdleTracker.attach(driver);
         }
         
-        if (browser != null && !"safari".equalsIgnoreCase(browser) && !headless) {
+        if (browser != null && !"safari".equalsIgnoreCase(browser) && !profile.isHeadless(headless)) {
             driver.manage().window().maximize();
         }
         
+        // The caller owns the session, but it is tracked so it is reaped if never quit
+        SessionRegistry.register(driver, browserName.isEmpty() ? "chrome" : browserName);
+        SessionRegistry.markLeased(driver);
         return driver;
     }
     
-    public static void configureTimeouts(WebDriver driver, long implicitWaitSeconds, long pageLoadTimeoutSeconds) {
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWaitSeconds));
+    public static void configureTimeouts(WebDriver driver, long pageLoadTimeoutSeconds) {
+        // Element waits are explicit only (see WaitEngine), so the implicit wait stays at zero
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeoutSeconds));
         
-        if (Log.getLogger().isInfoEnabled()) {
-            Log.info("Configured timeouts - Implicit Wait: " + implicitWaitSeconds + "s, Page Load: " + pageLoadTimeoutSeconds + "s");
-        }
+        Log.info("Configured timeouts - Implicit Wait: 0s, Page Load: {}s", pageLoadTimeoutSeconds);
     }
 } 
\ No newline at end of file
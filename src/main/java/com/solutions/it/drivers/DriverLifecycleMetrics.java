@@ -0,0 +1,75 @@
+package com.solutions.it.drivers;
+
+import com.solutions.it.metrics.LatencyHistogram;
+import com.solutions.it.metrics.MetricsWriter;
+import com.solutions.it.utils.Log;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how long each phase of a driver's lifecycle takes, per browser and
+ * execution mode (local or remote), and writes percentile summaries at suite end.
+ */
+public final class DriverLifecycleMetrics {
+    private static final String REPORT_FILE = "driver-lifecycle.json";
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    /**
+     * Phases of getting a browser ready for a test
+     */
+    public enum Phase {
+        BINARY_SETUP,
+        BROWSER_LAUNCH,
+        CONFIGURE_TIMEOUTS,
+        POOL_LEASE,
+        FIRST_NAVIGATION
+    }
+
+    private DriverLifecycleMetrics() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Records the duration of one phase
+     *
+     * @param phase the lifecycle phase
+     * @param browser the browser name
+     * @param remote whether the session runs on a remote grid
+     * @param nanos the measured duration in nanoseconds
+     */
+    public static void record(Phase phase, String browser, boolean remote, long nanos) {
+        HISTOGRAMS.computeIfAbsent(key(phase, browser, remote), k -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Writes the aggregated percentiles to the metrics directory and logs a one-line summary
+     */
+    public static void writeReport() {
+        if (HISTOGRAMS.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> report = new TreeMap<>();
+        StringBuilder summary = new StringBuilder("Driver lifecycle p50/p95 (ms) -");
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(HISTOGRAMS).entrySet()) {
+            Map<String, Object> stats = new LinkedHashMap<>(entry.getValue().summary());
+            report.put(entry.getKey(), stats);
+            summary.append(' ').append(entry.getKey()).append('=')
+                    .append(stats.get("p50Ms")).append('/').append(stats.get("p95Ms"));
+        }
+
+        Path file = MetricsWriter.write(REPORT_FILE, report);
+        Log.info(summary.toString());
+        if (file != null) {
+            Log.info("Driver lifecycle metrics written to: {}", file);
+        }
+    }
+
+    private static String key(Phase phase, String browser, boolean remote) {
+        return browser + "." + (remote ? "remote" : "local") + "." + phase.name().toLowerCase();
+    }
+}
@@ -0,0 +1,321 @@
+package com.solutions.it.drivers;
+
+import com.solutions.it.utils.Log;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, thread-safe pool of live browser sessions.
+ * Sessions are leased per test, reset between leases and recycled after
+ * a configured number of uses or when their JS heap grows past a threshold.
+ * An idle session is only handed to a lease with the same session key, so a test never gets a
+ * session started with another browser, headless mode, launch profile or grid.
+ */
+public class DriverPool {
+    private static final String RESET_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}"
+            + "try { window.sessionStorage.clear(); } catch (e) {}";
+    private static final String HEAP_SCRIPT =
+            "return window.performance && window.performance.memory"
+            + " ? window.performance.memory.usedJSHeapSize : -1;";
+
+    private final int maxSize;
+    private final int maxUses;
+    private final long maxHeapBytes;
+    private final long leaseTimeoutMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final Map<String, Deque<PooledSession>> idleSessions = new HashMap<>();
+    private final Map<WebDriver, PooledSession> leasedSessions = new IdentityHashMap<>();
+    private int liveSessions;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong recycled = new AtomicLong();
+    private final AtomicLong leaseWaitNanos = new AtomicLong();
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+
+    /**
+     * Creates a new pool
+     *
+     * @param maxSize maximum number of live sessions across all session keys
+     * @param maxUses number of leases after which a session is recycled
+     * @param maxHeapMegabytes JS heap size in MB after which a session is recycled (0 disables the check)
+     * @param leaseTimeoutSeconds how long a lease waits for a free slot before failing
+     */
+    public DriverPool(int maxSize, int maxUses, long maxHeapMegabytes, long leaseTimeoutSeconds) {
+        this.maxSize = Math.max(1, maxSize);
+        this.maxUses = Math.max(1, maxUses);
+        this.maxHeapBytes = maxHeapMegabytes * 1024L * 1024L;
+        this.leaseTimeoutMillis = TimeUnit.SECONDS.toMillis(leaseTimeoutSeconds);
+    }
+
+    /**
+     * Leases a session started with the given settings, reusing an idle one when available
+     *
+     * @param sessionKey the launch settings of the session, see {@code ConfigSnapshot.getSessionKey()}
+     * @param creator creates a new session when the pool has none to hand out
+     * @return a live WebDriver session owned by the caller until {@link #release(WebDriver)}
+     */
+    public WebDriver lease(String sessionKey, Supplier<WebDriver> creator) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(leaseTimeoutMillis);
+        PooledSession evicted = null;
+        PooledSession session = null;
+
+        lock.lock();
+        try {
+            while (true) {
+                session = pollIdle(sessionKey);
+                if (session != null) {
+                    hits.incrementAndGet();
+                    break;
+                }
+                if (liveSessions < maxSize) {
+                    liveSessions++;
+                    break;
+                }
+                // Pool is full - make room by evicting an idle session started with other settings
+                evicted = pollAnyIdle();
+                if (evicted != null) {
+                    break;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Timed out after " + leaseTimeoutMillis
+                            + "ms waiting for a free " + sessionKey + " session (pool size " + maxSize + ")");
+                }
+                released.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled session", e);
+        } finally {
+            lock.unlock();
+        }
+
+        if (evicted != null) {
+            // Slot of the evicted session is handed over to the new one
+            quitQuietly(evicted);
+        }
+
+        if (session == null) {
+            misses.incrementAndGet();
+            try {
+                session = new PooledSession(sessionKey, creator.get());
+            } catch (RuntimeException e) {
+                lock.lock();
+                try {
+                    liveSessions--;
+                    released.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                throw e;
+            }
+        }
+
+        session.uses++;
+        lock.lock();
+        try {
+            leasedSessions.put(session.driver, session);
+        } finally {
+            lock.unlock();
+        }
+
+        recordWait(System.nanoTime() - start);
+        return session.driver;
+    }
+
+    /**
+     * Returns a leased session to the pool. The session is reset or, when it has
+     * reached its use or memory budget, quit and its slot freed.
+     *
+     * @param driver the leased WebDriver
+     * @return true if the driver belonged to this pool
+     */
+    public boolean release(WebDriver driver) {
+        PooledSession session;
+        lock.lock();
+        try {
+            session = leasedSessions.remove(driver);
+        } finally {
+            lock.unlock();
+        }
+        if (session == null) {
+            return false;
+        }
+
+        boolean reusable = session.uses < maxUses && !exceedsHeapBudget(session) && reset(session);
+        lock.lock();
+        try {
+            if (reusable) {
+                SessionRegistry.markIdle(session.driver);
+                idleSessions.computeIfAbsent(session.key, key -> new ArrayDeque<>()).push(session);
+            } else {
+                liveSessions--;
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (!reusable) {
+            recycled.incrementAndGet();
+            quitQuietly(session);
+        }
+        return true;
+    }
+
+    /**
+     * Drops a leased session without trying to reuse it, e.g. after the session crashed
+     *
+     * @param driver the leased WebDriver
+     * @return true if the driver belonged to this pool
+     */
+    public boolean discard(WebDriver driver) {
+        PooledSession session;
+        lock.lock();
+        try {
+            session = leasedSessions.remove(driver);
+            if (session != null) {
+                liveSessions--;
+                released.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (session != null) {
+            quitQuietly(session);
+        }
+        return session != null;
+    }
+
+    /**
+     * Quits every idle session. Leased sessions are left to their owners.
+     */
+    public void shutdown() {
+        List<PooledSession> toQuit = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Deque<PooledSession> sessions : idleSessions.values()) {
+                toQuit.addAll(sessions);
+                liveSessions -= sessions.size();
+            }
+            idleSessions.clear();
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        toQuit.forEach(this::quitQuietly);
+        logStatistics();
+    }
+
+    /**
+     * Logs hit/miss counts and lease wait times so the pool can be sized per agent
+     */
+    public void logStatistics() {
+        long leases = hits.get() + misses.get();
+        Log.info(() -> String.format("Driver pool stats - size: %d, leases: %d, hits: %d, misses: %d, recycled: %d, "
+                + "avg lease wait: %.1fms, max lease wait: %.1fms",
+                maxSize, leases, hits.get(), misses.get(), recycled.get(),
+                leases == 0 ? 0.0 : leaseWaitNanos.get() / (double) leases / 1_000_000.0,
+                maxLeaseWaitNanos.get() / 1_000_000.0));
+    }
+
+    private PooledSession pollIdle(String sessionKey) {
+        Deque<PooledSession> sessions = idleSessions.get(sessionKey);
+        return sessions == null ? null : sessions.poll();
+    }
+
+    private PooledSession pollAnyIdle() {
+        Iterator<Deque<PooledSession>> iterator = idleSessions.values().iterator();
+        while (iterator.hasNext()) {
+            PooledSession session = iterator.next().pollLast();
+            if (session != null) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    private void recordWait(long waitNanos) {
+        leaseWaitNanos.addAndGet(waitNanos);
+        maxLeaseWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private boolean exceedsHeapBudget(PooledSession session) {
+        if (maxHeapBytes <= 0 || !(session.driver instanceof JavascriptExecutor)) {
+            return false;
+        }
+        try {
+            Object heap = ((JavascriptExecutor) session.driver).executeScript(HEAP_SCRIPT);
+            return heap instanceof Number && ((Number) heap).longValue() > maxHeapBytes;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Clears cookies and web storage and closes every window but the first one
+     */
+    private boolean reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            if (handles.isEmpty()) {
+                return false;
+            }
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i));
+                driver.close();
+            }
+            driver.switchTo().window(handles.get(0));
+            driver.manage().deleteAllCookies();
+            if (driver instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) driver).executeScript(RESET_SCRIPT);
+            }
+            return true;
+        } catch (Exception e) {
+            Log.warn("Could not reset pooled {} session, recycling it: {}", session.key, e.getMessage());
+            return false;
+        }
+    }
+
+    private void quitQuietly(PooledSession session) {
+        try {
+            SessionRegistry.quit(session.driver);
+        } catch (Exception e) {
+            Log.warn("Failed to quit pooled {} session: {}", session.key, e.getMessage());
+        }
+    }
+
+    /**
+     * A live session together with its launch settings and usage count
+     */
+    private static final class PooledSession {
+        private final String key;
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledSession(String key, WebDriver driver) {
+            this.key = key;
+            this.driver = driver;
+        }
+    }
+}
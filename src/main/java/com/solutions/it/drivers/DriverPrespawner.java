@@ -0,0 +1,167 @@
+package com.solutions.it.drivers;
+
+import com.solutions.it.utils.Log;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Starts the next browser session in the background while the current test runs,
+ * so the next test on the same thread finds a session that is already up.
+ * Outstanding sessions are capped per thread and per JVM. A session is only handed out for the
+ * launch settings it was started with; one the next test cannot use is quit in the background.
+ */
+public class DriverPrespawner {
+    private final int maxPerThread;
+    private final Semaphore jvmSlots;
+    private final ExecutorService executor;
+    private final Map<Long, Deque<PendingSession>> pendingByThread = new ConcurrentHashMap<>();
+
+    private final AtomicLong spawned = new AtomicLong();
+    private final AtomicLong used = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+
+    /**
+     * Creates a new pre-spawner
+     *
+     * @param maxPerThread maximum outstanding pre-spawned sessions per test thread
+     * @param maxTotal maximum outstanding pre-spawned sessions in the JVM
+     */
+    public DriverPrespawner(int maxPerThread, int maxTotal) {
+        this.maxPerThread = Math.max(1, maxPerThread);
+        this.jvmSlots = new Semaphore(Math.max(1, maxTotal));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "driver-prespawn-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Takes a pre-spawned session started on behalf of the current thread with the given settings.
+     * Sessions the thread pre-spawned with other settings are quit: they were started for this
+     * test, which needs a different session.
+     *
+     * @param sessionKey the launch settings, see {@code ConfigSnapshot.getSessionKey()}
+     * @return the session, or null if none was pre-spawned or its startup failed
+     */
+    public WebDriver take(String sessionKey) {
+        Deque<PendingSession> pending = pendingByThread.get(Thread.currentThread().getId());
+        if (pending == null) {
+            return null;
+        }
+        PendingSession match = null;
+        Iterator<PendingSession> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            PendingSession session = iterator.next();
+            iterator.remove();
+            jvmSlots.release();
+            if (match == null && session.key.equals(sessionKey)) {
+                match = session;
+            } else {
+                executor.execute(() -> quitUnused(session));
+            }
+        }
+        if (match == null) {
+            return null;
+        }
+        WebDriver driver = await(match);
+        if (driver != null) {
+            used.incrementAndGet();
+        }
+        return driver;
+    }
+
+    /**
+     * Starts a session in the background for the current thread's next test,
+     * unless the per-thread or per-JVM cap has been reached
+     *
+     * @param sessionKey the launch settings of the session, see {@code ConfigSnapshot.getSessionKey()}
+     * @param creator starts the session
+     */
+    public void prespawn(String sessionKey, Supplier<WebDriver> creator) {
+        Deque<PendingSession> pending = pendingByThread.computeIfAbsent(
+                Thread.currentThread().getId(), id -> new ConcurrentLinkedDeque<>());
+        if (pending.size() >= maxPerThread || !jvmSlots.tryAcquire()) {
+            return;
+        }
+        pending.add(new PendingSession(sessionKey, executor.submit(creator::get)));
+        spawned.incrementAndGet();
+        Log.debug("Pre-spawning {} session for thread {}", sessionKey, Thread.currentThread().getName());
+    }
+
+    /**
+     * Quits every pre-spawned session that was never taken and stops the background workers
+     */
+    public void shutdown() {
+        List<PendingSession> leftovers = new ArrayList<>();
+        for (Deque<PendingSession> pending : pendingByThread.values()) {
+            PendingSession session;
+            while ((session = pending.poll()) != null) {
+                leftovers.add(session);
+                jvmSlots.release();
+            }
+        }
+        pendingByThread.clear();
+
+        leftovers.forEach(this::quitUnused);
+        executor.shutdownNow();
+
+        Log.info("Driver pre-spawn stats - spawned: {}, used: {}, discarded: {}", spawned.get(), used.get(),
+                discarded.get());
+    }
+
+    private void quitUnused(PendingSession session) {
+        WebDriver driver = await(session);
+        if (driver != null) {
+            discarded.incrementAndGet();
+            try {
+                SessionRegistry.quit(driver);
+            } catch (Exception e) {
+                Log.warn("Failed to quit unused pre-spawned session: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static WebDriver await(PendingSession session) {
+        try {
+            return session.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            session.future.cancel(true);
+            return null;
+        } catch (ExecutionException | CancellationException e) {
+            Log.warn("Pre-spawned {} session failed to start: {}", session.key, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * A session that is starting (or has started) in the background
+     */
+    private static final class PendingSession {
+        private final String key;
+        private final Future<WebDriver> future;
+
+        private PendingSession(String key, Future<WebDriver> future) {
+            this.key = key;
+            this.future = future;
+        }
+    }
+}
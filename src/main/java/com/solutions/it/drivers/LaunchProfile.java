@@ -0,0 +1,158 @@
+package com.solutions.it.drivers;
+
+import com.solutions.it.utils.Log;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.safari.SafariOptions;
+
+import java.util.Locale;
+
+/**
+ * Named browser launch profiles. Every driver path (local factories, DriverFactory and
+ * remote grid sessions) resolves its browser options from here so they stay identical.
+ */
+public enum LaunchProfile {
+    /**
+     * Regular browser with the full page load strategy; headless only when configured
+     */
+    DEFAULT,
+
+    /**
+     * Headless-new browser with eager page loads and background services switched off
+     */
+    FAST;
+
+    /**
+     * Resolves a profile by name, falling back to DEFAULT for unknown names
+     *
+     * @param name the profile name from configuration
+     * @return the launch profile
+     */
+    public static LaunchProfile fromName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return DEFAULT;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            Log.warn("Unknown launch profile '{}', using default", name);
+            return DEFAULT;
+        }
+    }
+
+    /**
+     * Checks whether the browser runs headless under this profile
+     *
+     * @param configuredHeadless the headless flag from configuration
+     * @return true if the browser should run headless
+     */
+    public boolean isHeadless(boolean configuredHeadless) {
+        return this == FAST || configuredHeadless;
+    }
+
+    /**
+     * Builds the options for the given browser
+     *
+     * @param browser the browser name
+     * @param configuredHeadless the headless flag from configuration
+     * @return the browser options
+     */
+    public Capabilities optionsFor(String browser, boolean configuredHeadless) {
+        switch (browser) {
+            case "firefox":
+                return firefoxOptions(configuredHeadless);
+            case "edge":
+                return edgeOptions(configuredHeadless);
+            case "safari":
+                return safariOptions();
+            case "chrome":
+            default:
+                return chromeOptions(configuredHeadless);
+        }
+    }
+
+    /**
+     * Builds the Chrome options for this profile
+     *
+     * @param configuredHeadless the headless flag from configuration
+     * @return the Chrome options
+     */
+    public ChromeOptions chromeOptions(boolean configuredHeadless) {
+        ChromeOptions options = new ChromeOptions();
+        applyChromium(options, configuredHeadless);
+        options.addArguments("--start-maximized");
+        options.addArguments("--disable-notifications");
+        return options;
+    }
+
+    /**
+     * Builds the Edge options for this profile
+     *
+     * @param configuredHeadless the headless flag from configuration
+     * @return the Edge options
+     */
+    public EdgeOptions edgeOptions(boolean configuredHeadless) {
+        EdgeOptions options = new EdgeOptions();
+        applyChromium(options, configuredHeadless);
+        return options;
+    }
+
+    /**
+     * Builds the Firefox options for this profile
+     *
+     * @param configuredHeadless the headless flag from configuration
+     * @return the Firefox options
+     */
+    public FirefoxOptions firefoxOptions(boolean configuredHeadless) {
+        FirefoxOptions options = new FirefoxOptions();
+        if (isHeadless(configuredHeadless)) {
+            options.addArguments("--headless");
+            options.addArguments("--width=1920");
+            options.addArguments("--height=1080");
+        }
+        if (this == FAST) {
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+            options.addPreference("app.update.auto", false);
+            options.addPreference("extensions.update.enabled", false);
+            options.addPreference("network.prefetch-next", false);
+        }
+        options.setAcceptInsecureCerts(true);
+        return options;
+    }
+
+    /**
+     * Builds the Safari options for this profile
+     *
+     * @return the Safari options
+     */
+    public SafariOptions safariOptions() {
+        SafariOptions options = new SafariOptions();
+        if (this == FAST) {
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+        }
+        return options;
+    }
+
+    private void applyChromium(ChromiumOptions<?> options, boolean configuredHeadless) {
+        if (isHeadless(configuredHeadless)) {
+            options.addArguments(this == FAST ? "--headless=new" : "--headless");
+            // Additional options for Jenkins/CI environment
+            options.addArguments("--no-sandbox");
+            options.addArguments("--disable-dev-shm-usage");
+            options.addArguments("--window-size=1920,1080");
+        }
+        if (this == FAST) {
+            options.setPageLoadStrategy(PageLoadStrategy.EAGER);
+            options.addArguments("--disable-extensions");
+            options.addArguments("--disable-background-networking");
+            options.addArguments("--disable-component-update");
+            options.addArguments("--disable-gpu");
+        }
+        // Handle CI environments that might be using older browsers
+        options.setAcceptInsecureCerts(true);
+    }
+}
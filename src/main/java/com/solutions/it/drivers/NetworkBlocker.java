@@ -0,0 +1,134 @@
+package com.solutions.it.drivers;
+
+import com.solutions.it.config.FrameworkConfig;
+import com.solutions.it.utils.Log;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drops requests the tests never need (fonts, media, third-party assets) before they
+ * reach the network, using the DevTools Fetch domain of Chromium-based browsers.
+ * URL patterns and resource types come from the network.block.* properties.
+ * <p>
+ * A blocked request never returns a response, so its size is unknown; bytes saved are
+ * estimated from typical sizes per resource type.
+ */
+public final class NetworkBlocker {
+    private static final FrameworkConfig CONFIG = FrameworkConfig.getInstance();
+    private static final Map<WebDriver, NetworkBlocker> BLOCKERS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, Long> ESTIMATED_BYTES = new HashMap<>();
+    private static final long DEFAULT_ESTIMATED_BYTES = 10 * 1024L;
+
+    static {
+        ESTIMATED_BYTES.put("image", 30 * 1024L);
+        ESTIMATED_BYTES.put("font", 45 * 1024L);
+        ESTIMATED_BYTES.put("media", 250 * 1024L);
+        ESTIMATED_BYTES.put("stylesheet", 20 * 1024L);
+        ESTIMATED_BYTES.put("script", 40 * 1024L);
+    }
+
+    private final AtomicLong blockedRequests = new AtomicLong();
+    private final AtomicLong estimatedBytesSaved = new AtomicLong();
+
+    private NetworkBlocker() {
+    }
+
+    /**
+     * Installs the configured blocking profile on a Chromium-based session.
+     * Does nothing when blocking is disabled, no patterns are configured or the driver has no DevTools.
+     *
+     * @param driver the WebDriver instance
+     */
+    public static void attach(WebDriver driver) {
+        if (!Boolean.parseBoolean(CONFIG.getProperty("network.block.enabled", "false"))
+                || !(driver instanceof HasDevTools)) {
+            return;
+        }
+
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String urlPattern : splitList(CONFIG.getProperty("network.block.url.patterns", ""))) {
+            patterns.add(Map.of("urlPattern", urlPattern, "requestStage", "Request"));
+        }
+        for (String resourceType : splitList(CONFIG.getProperty("network.block.resource.types", ""))) {
+            patterns.add(Map.of("urlPattern", "*", "resourceType", resourceType, "requestStage", "Request"));
+        }
+        if (patterns.isEmpty()) {
+            return;
+        }
+
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            NetworkBlocker blocker = new NetworkBlocker();
+
+            // Only requests matching a pattern are paused, and every paused request is blocked
+            devTools.addListener(new Event<Map<String, Object>>("Fetch.requestPaused", input -> input.read(Map.class)),
+                    paused -> {
+                        blocker.recordBlocked(String.valueOf(paused.get("resourceType")));
+                        devTools.send(new Command<Void>("Fetch.failRequest",
+                                Map.of("requestId", paused.get("requestId"), "errorReason", "BlockedByClient")));
+                    });
+            devTools.send(new Command<Void>("Fetch.enable", Map.of("patterns", patterns)));
+            BLOCKERS.put(driver, blocker);
+
+            Log.info("Network blocking profile installed with {} patterns", patterns.size());
+        } catch (Exception e) {
+            Log.warn("Could not install network blocking profile: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Resets the blocked request counters of a session, typically when a test starts using it
+     *
+     * @param driver the WebDriver instance
+     */
+    public static void resetCounters(WebDriver driver) {
+        NetworkBlocker blocker = BLOCKERS.get(CommandTracer.unwrap(driver));
+        if (blocker != null) {
+            blocker.blockedRequests.set(0);
+            blocker.estimatedBytesSaved.set(0);
+        }
+    }
+
+    /**
+     * Logs how many requests were blocked for the session since the counters were last reset
+     *
+     * @param driver the WebDriver instance
+     * @param testName the test the counters belong to
+     */
+    public static void logTestSummary(WebDriver driver, String testName) {
+        NetworkBlocker blocker = BLOCKERS.get(CommandTracer.unwrap(driver));
+        if (blocker != null) {
+            Log.info("Network blocking for {} - blocked requests: {}, estimated bytes saved: {}", testName,
+                    blocker.blockedRequests.get(), blocker.estimatedBytesSaved.get());
+        }
+    }
+
+    private void recordBlocked(String resourceType) {
+        blockedRequests.incrementAndGet();
+        estimatedBytesSaved.addAndGet(ESTIMATED_BYTES.getOrDefault(resourceType.toLowerCase(Locale.ENGLISH),
+                DEFAULT_ESTIMATED_BYTES));
+    }
+
+    private static List<String> splitList(String value) {
+        List<String> values = new ArrayList<>();
+        for (String item : value.split(",")) {
+            if (!item.trim().isEmpty()) {
+                values.add(item.trim());
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,105 @@
+package com.solutions.it.drivers;
+
+import com.solutions.it.utils.Log;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Page readiness based on what the application is actually doing: a small in-page tracker
+ * counts in-flight XHR/fetch calls and remembers the last network activity and the last change
+ * to the DOM tree or text. A page is ready once nothing is in flight and the page has been quiet
+ * for a short period.
+ * <p>
+ * Attribute-only mutations, such as CSS animations toggling classes, are not activity. Clocks,
+ * spinners and polling widgets can change the DOM forever, so DOM changes only delay readiness
+ * until the network has been quiet for a settle limit.
+ * <p>
+ * On Chromium-based browsers the tracker is registered through DevTools so it runs before any
+ * page script and sees the very first requests; elsewhere it is injected on first use.
+ */
+public final class NetworkIdleTracker {
+    private static final String TRACKER_SCRIPT =
+            "(function() {"
+            + "  if (window.__idleTracker) { return; }"
+            + "  var t = window.__idleTracker = { inFlight: 0, network: Date.now(), dom: Date.now() };"
+            + "  var touch = function() { t.network = Date.now(); };"
+            + "  var done = function() { t.inFlight = Math.max(0, t.inFlight - 1); touch(); };"
+            + "  var send = XMLHttpRequest.prototype.send;"
+            + "  XMLHttpRequest.prototype.send = function() {"
+            + "    t.inFlight++; touch(); this.addEventListener('loadend', done);"
+            + "    return send.apply(this, arguments);"
+            + "  };"
+            + "  if (window.fetch) {"
+            + "    var fetch = window.fetch;"
+            + "    window.fetch = function() {"
+            + "      t.inFlight++; touch();"
+            + "      return fetch.apply(this, arguments).then("
+            + "          function(response) { done(); return response; },"
+            + "          function(error) { done(); throw error; });"
+            + "    };"
+            + "  }"
+            + "  new MutationObserver(function() { t.dom = Date.now(); }).observe(document,"
+            + "      { childList: true, subtree: true, characterData: true });"
+            + "})();";
+    private static final String IDLE_CHECK_SCRIPT =
+            "var t = window.__idleTracker;"
+            + "if (!t) { " + TRACKER_SCRIPT + " return false; }"
+            + "var now = Date.now();"
+            + "return document.readyState !== 'loading' && t.inFlight === 0 && now - t.network >= arguments[0]"
+            + "    && (now - t.dom >= arguments[0] || now - t.network >= arguments[1]);";
+
+    private NetworkIdleTracker() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Registers the tracker for every document the session loads, if the driver has DevTools
+     *
+     * @param driver the WebDriver instance
+     */
+    public static void attach(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.send(new Command<Map<String, Object>>("Page.addScriptToEvaluateOnNewDocument",
+                    Map.of("source", TRACKER_SCRIPT)));
+        } catch (Exception e) {
+            Log.warn("Could not preload network idle tracker, falling back to lazy injection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Condition that holds once the page has parsed, no XHR/fetch call is in flight and neither
+     * the network nor the DOM has changed for the quiet period. A DOM that keeps changing is
+     * ignored once the network has been quiet for the settle limit.
+     *
+     * @param quietPeriod how long the page must stay quiet
+     * @param domSettleMax how long DOM changes may delay readiness after the network went quiet
+     * @return the readiness condition
+     */
+    public static ExpectedCondition<Boolean> networkIdle(Duration quietPeriod, Duration domSettleMax) {
+        long quietMillis = quietPeriod.toMillis();
+        long domSettleMillis = domSettleMax.toMillis();
+        return new ExpectedCondition<Boolean>() {
+            @Override
+            public Boolean apply(WebDriver driver) {
+                return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript(IDLE_CHECK_SCRIPT, quietMillis, domSettleMillis));
+            }
+
+            @Override
+            public String toString() {
+                return "network and DOM idle for " + quietMillis + "ms";
+            }
+        };
+    }
+}
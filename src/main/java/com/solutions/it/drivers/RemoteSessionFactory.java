@@ -0,0 +1,227 @@
+package com.solutions.it.drivers;
+
+import com.solutions.it.config.FrameworkConfig;
+import com.solutions.it.utils.Log;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates RemoteWebDriver sessions over one shared, tunable HTTP transport.
+ * All sessions reuse the same pooled keep-alive connections to the grid, session
+ * creation requests are bounded, and once every grid slot is taken new sessions
+ * queue locally instead of timing out in the hub's queue.
+ */
+public final class RemoteSessionFactory {
+    private static final FrameworkConfig CONFIG = FrameworkConfig.getInstance();
+    private static volatile RemoteSessionFactory instance;
+
+    private final ClientConfig clientConfig;
+    private final HttpClient.Factory clientFactory;
+    private final Semaphore gridSlots;
+    private final Semaphore creationRequests;
+    private final long queueTimeoutSeconds;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong created = new AtomicLong();
+
+    private RemoteSessionFactory(URL gridUrl) {
+        // The JDK client reads these once, so they must be set before the first client is built
+        setIfAbsent("jdk.httpclient.keepalive.timeout", CONFIG.getProperty("grid.http.keepalive.seconds", "300"));
+        setIfAbsent("jdk.httpclient.connectionPoolSize", CONFIG.getProperty("grid.http.connection.pool.size", "0"));
+
+        this.clientConfig = ClientConfig.defaultConfig()
+                .baseUrl(gridUrl)
+                .connectionTimeout(Duration.ofSeconds(Long.parseLong(CONFIG.getProperty("grid.http.connect.timeout", "10"))))
+                .readTimeout(Duration.ofSeconds(Long.parseLong(CONFIG.getProperty("grid.http.read.timeout", "180"))));
+        this.clientFactory = new SharedClientFactory(HttpClient.Factory.createDefault().createClient(clientConfig));
+        this.gridSlots = new Semaphore(Integer.parseInt(CONFIG.getProperty("grid.max.sessions", "3")), true);
+        this.creationRequests = new Semaphore(Integer.parseInt(CONFIG.getProperty("grid.max.session.requests", "2")), true);
+        this.queueTimeoutSeconds = Long.parseLong(CONFIG.getProperty("grid.session.queue.timeout", "300"));
+    }
+
+    /**
+     * Gets the shared factory for the configured grid
+     *
+     * @return the remote session factory
+     */
+    public static RemoteSessionFactory getInstance() {
+        RemoteSessionFactory result = instance;
+        if (result == null) {
+            synchronized (RemoteSessionFactory.class) {
+                result = instance;
+                if (result == null) {
+                    try {
+                        result = new RemoteSessionFactory(new URL(CONFIG.getGridUrl()));
+                    } catch (MalformedURLException e) {
+                        Log.error("Invalid Grid URL: {}", CONFIG.getGridUrl(), e);
+                        throw new RuntimeException("Could not initialize RemoteWebDriver", e);
+                    }
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a new remote session, waiting locally for a free grid slot if necessary
+     *
+     * @param capabilities the requested capabilities
+     * @return the RemoteWebDriver instance
+     */
+    public WebDriver createSession(Capabilities capabilities) {
+        acquire(gridSlots, "grid slot");
+        boolean sessionStarted = false;
+        try {
+            acquire(creationRequests, "session request");
+            inFlight.incrementAndGet();
+            try {
+                WebDriver driver = new RemoteWebDriver(new SlotReleasingExecutor(), capabilities);
+                sessionStarted = true;
+                created.incrementAndGet();
+                active.incrementAndGet();
+                return driver;
+            } finally {
+                inFlight.decrementAndGet();
+                creationRequests.release();
+            }
+        } finally {
+            if (!sessionStarted) {
+                gridSlots.release();
+            }
+        }
+    }
+
+    /**
+     * Logs queued, in-flight and created session counters
+     */
+    public void logStatistics() {
+        Log.info("Remote session stats - queued: {}, in flight: {}, active: {}, created: {}", getQueued(), getInFlight(),
+                active.get(), getCreated());
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getCreated() {
+        return created.get();
+    }
+
+    /**
+     * Logs statistics of the shared factory if any remote session was requested
+     */
+    public static void logStatisticsIfUsed() {
+        RemoteSessionFactory current = instance;
+        if (current != null) {
+            current.logStatistics();
+        }
+    }
+
+    private void acquire(Semaphore semaphore, String resource) {
+        if (semaphore.tryAcquire()) {
+            return;
+        }
+        queued.incrementAndGet();
+        try {
+            if (!semaphore.tryAcquire(queueTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new SessionNotCreatedException("No " + resource + " became free within "
+                        + queueTimeoutSeconds + "s (" + queued.get() + " sessions queued locally)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted while queued for a " + resource);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    /**
+     * Command executor that frees the session's grid slot when the session quits
+     */
+    private final class SlotReleasingExecutor extends HttpCommandExecutor {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private SlotReleasingExecutor() {
+            super(Collections.emptyMap(), clientConfig, clientFactory);
+        }
+
+        @Override
+        public Response execute(Command command) throws IOException {
+            try {
+                return super.execute(command);
+            } finally {
+                if (DriverCommand.QUIT.equals(command.getName()) && released.compareAndSet(false, true)) {
+                    active.decrementAndGet();
+                    gridSlots.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Hands out one shared client so every session reuses the same connection pool.
+     * Closing a session must not close the shared client, so close() is a no-op.
+     */
+    private static final class SharedClientFactory implements HttpClient.Factory {
+        private final HttpClient sharedClient;
+
+        private SharedClientFactory(HttpClient sharedClient) {
+            this.sharedClient = sharedClient;
+        }
+
+        @Override
+        public HttpClient createClient(ClientConfig config) {
+            return new HttpClient() {
+                @Override
+                public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+                    return sharedClient.openSocket(request, listener);
+                }
+
+                @Override
+                public HttpResponse execute(HttpRequest request) {
+                    return sharedClient.execute(request);
+                }
+
+                @Override
+                public void close() {
+                    // Shared between sessions, stays open for the lifetime of the JVM
+                }
+            };
+        }
+    }
+}
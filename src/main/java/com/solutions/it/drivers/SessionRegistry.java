@@ -0,0 +1,265 @@
+package com.solutions.it.drivers;
+
+import com.solutions.it.config.FrameworkConfig;
+import com.solutions.it.metrics.MetricsWriter;
+import com.solutions.it.utils.Log;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Global registry of every browser session the framework starts, with its owner thread,
+ * test and age. A watchdog quits leased sessions whose owner thread died or that stayed
+ * idle past a threshold, the suite end reaps whatever is still open, and a shutdown hook
+ * does the same when the JVM exits without reaching the suite end.
+ * <p>
+ * Sessions handed back to the pool or waiting in the pre-spawner are idle by design and
+ * never count as leaks.
+ */
+public final class SessionRegistry {
+    private static final String REPORT_FILE = "driver-sessions.json";
+    private static final Map<WebDriver, Session> SESSIONS = new ConcurrentHashMap<>();
+    private static final AtomicLong IDS = new AtomicLong();
+    private static final AtomicLong REGISTERED = new AtomicLong();
+    private static final AtomicLong QUIT = new AtomicLong();
+    private static final AtomicLong LEAKED = new AtomicLong();
+    private static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(
+            Long.parseLong(FrameworkConfig.getInstance().getProperty("driver.leak.idle.timeout.minutes", "30")));
+    private static volatile Predicate<WebDriver> reapHandler;
+    private static volatile ScheduledExecutorService watchdog;
+
+    /**
+     * Who currently holds a session
+     */
+    public enum State {
+        LEASED,
+        IDLE
+    }
+
+    private SessionRegistry() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Registers a newly started session. It starts out idle until a test leases it.
+     *
+     * @param driver the new session
+     * @param browser the browser name
+     */
+    public static void register(WebDriver driver, String browser) {
+        SESSIONS.put(driver, new Session(IDS.incrementAndGet(), browser));
+        REGISTERED.incrementAndGet();
+        startWatchdog();
+    }
+
+    /**
+     * Marks a session as owned by the current thread
+     *
+     * @param driver the session
+     */
+    public static void markLeased(WebDriver driver) {
+        Session session = SESSIONS.get(driver);
+        if (session != null) {
+            session.state = State.LEASED;
+            session.owner = Thread.currentThread();
+            session.test = null;
+            session.lastActivity = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Records which test is using a leased session
+     *
+     * @param driver the session
+     * @param testName the test name
+     */
+    public static void assignTest(WebDriver driver, String testName) {
+        Session session = SESSIONS.get(CommandTracer.unwrap(driver));
+        if (session != null) {
+            session.test = testName;
+            session.lastActivity = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Marks a session as parked by the framework (pooled or pre-spawned)
+     *
+     * @param driver the session
+     */
+    public static void markIdle(WebDriver driver) {
+        Session session = SESSIONS.get(driver);
+        if (session != null) {
+            session.state = State.IDLE;
+            session.owner = null;
+            session.test = null;
+            session.lastActivity = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Records activity on a session so the watchdog does not treat it as abandoned. Called for
+     * every command issued through the driver {@link WebDriverManager} hands out, and by waits.
+     *
+     * @param driver the session
+     */
+    public static void touch(WebDriver driver) {
+        Session session = SESSIONS.get(CommandTracer.unwrap(driver));
+        if (session != null) {
+            session.lastActivity = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Quits a session and removes it from the registry. If quitting fails the session
+     * stays registered so the reaper can retry, and the failure is rethrown.
+     *
+     * @param driver the session
+     */
+    public static void quit(WebDriver driver) {
+        driver.quit();
+        if (SESSIONS.remove(CommandTracer.unwrap(driver)) != null) {
+            QUIT.incrementAndGet();
+        }
+    }
+
+    /**
+     * Sets who gets to dispose of a reaped session first, e.g. the pool that leased it.
+     * The handler returns true if it took care of the session.
+     *
+     * @param handler the reap handler
+     */
+    public static void setReapHandler(Predicate<WebDriver> handler) {
+        reapHandler = handler;
+    }
+
+    /**
+     * Reaps every session still open at suite end and writes the session report.
+     * Called after the pool and pre-spawner have quit their idle sessions.
+     */
+    public static void reapAndReport() {
+        List<Map<String, Object>> leftovers = new ArrayList<>();
+        for (Map.Entry<WebDriver, Session> entry : SESSIONS.entrySet()) {
+            leftovers.add(entry.getValue().describe());
+            reap(entry.getKey(), entry.getValue(), "still open at suite end");
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("registered", REGISTERED.get());
+        report.put("quit", QUIT.get());
+        report.put("live", SESSIONS.size());
+        report.put("leaked", LEAKED.get());
+        report.put("reapedAtSuiteEnd", leftovers);
+        Path file = MetricsWriter.write(REPORT_FILE, report);
+
+        Log.info("Driver sessions - registered: {}, quit: {}, live: {}, leaked: {}", REGISTERED.get(), QUIT.get(),
+                SESSIONS.size(), LEAKED.get());
+        if (file != null) {
+            Log.info("Driver session report written to: {}", file);
+        }
+    }
+
+    private static synchronized void startWatchdog() {
+        if (watchdog != null) {
+            return;
+        }
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "driver-session-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = Math.max(1000, Math.min(IDLE_TIMEOUT_MILLIS / 2, TimeUnit.MINUTES.toMillis(1)));
+        watchdog.scheduleWithFixedDelay(SessionRegistry::sweep, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(SessionRegistry::reapOnExit, "driver-session-reaper"));
+    }
+
+    private static void sweep() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<WebDriver, Session> entry : SESSIONS.entrySet()) {
+            Session session = entry.getValue();
+            if (isClosed(entry.getKey())) {
+                // Quit directly by its owner, e.g. a session from DriverFactory
+                if (SESSIONS.remove(entry.getKey()) != null) {
+                    QUIT.incrementAndGet();
+                }
+            } else if (session.state == State.LEASED) {
+                Thread owner = session.owner;
+                if (owner != null && !owner.isAlive()) {
+                    reap(entry.getKey(), session, "owner thread " + owner.getName() + " has ended");
+                } else if (now - session.lastActivity > IDLE_TIMEOUT_MILLIS) {
+                    reap(entry.getKey(), session, "idle for " + TimeUnit.MILLISECONDS.toSeconds(now - session.lastActivity) + "s");
+                }
+            }
+        }
+    }
+
+    private static void reapOnExit() {
+        for (Map.Entry<WebDriver, Session> entry : SESSIONS.entrySet()) {
+            if (!isClosed(entry.getKey())) {
+                reap(entry.getKey(), entry.getValue(), "still open at JVM exit");
+            }
+        }
+    }
+
+    private static void reap(WebDriver driver, Session session, String reason) {
+        LEAKED.incrementAndGet();
+        Log.warn("Reaping leaked {} session #{} ({}) {}", session.browser, session.id, reason, session.describe());
+        try {
+            Predicate<WebDriver> handler = reapHandler;
+            if (handler == null || !handler.test(driver)) {
+                driver.quit();
+            }
+        } catch (Exception e) {
+            Log.warn("Failed to quit leaked session #{}: {}", session.id, e.getMessage());
+        } finally {
+            SESSIONS.remove(driver);
+        }
+    }
+
+    private static boolean isClosed(WebDriver driver) {
+        // RemoteWebDriver (and every local driver) drops its session id on quit
+        return driver instanceof RemoteWebDriver && ((RemoteWebDriver) driver).getSessionId() == null;
+    }
+
+    /**
+     * Bookkeeping for one registered session
+     */
+    private static final class Session {
+        private final long id;
+        private final String browser;
+        private final long createdAt = System.currentTimeMillis();
+        private volatile State state = State.IDLE;
+        private volatile Thread owner;
+        private volatile String test;
+        private volatile long lastActivity = createdAt;
+
+        private Session(long id, String browser) {
+            this.id = id;
+            this.browser = browser;
+        }
+
+        private Map<String, Object> describe() {
+            long now = System.currentTimeMillis();
+            Thread currentOwner = owner;
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("id", id);
+            description.put("browser", browser);
+            description.put("state", state.name());
+            description.put("owner", currentOwner != null ? currentOwner.getName() : null);
+            description.put("test", test);
+            description.put("ageSeconds", TimeUnit.MILLISECONDS.toSeconds(now - createdAt));
+            description.put("idleSeconds", TimeUnit.MILLISECONDS.toSeconds(now - lastActivity));
+            return description;
+        }
+    }
+}
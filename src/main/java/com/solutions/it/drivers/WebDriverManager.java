@@ -1,7 +1,10 @@
 package com.solutions.it.drivers;
 
+import com.solutions.it.config.ConfigSnapshot;
 import com.solutions.it.config.FrameworkConfig;
+import com.solutions.it.drivers.DriverLifecycleMetrics.Phase;
 import com.solutions.it.utils.Log;
+import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -9,12 +12,9 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
-import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.safari.SafariDriver;
 import org.openqa.selenium.safari.SafariOptions;
 
-import java.net.MalformedURLException;
-import java.net.URL;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,8 +24,11 @@ import java.util.Map;
  */
 public class WebDriverManager {
     private static final ThreadLocal<WebDriver> DRIVER_THREAD_LOCAL = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriver> SESSION_THREAD_LOCAL = new ThreadLocal<>(); // Untraced session behind the driver
     private static final Map<String, WebDriverFactory> FACTORIES = new HashMap<>();
     private static final FrameworkConfig CONFIG = FrameworkConfig.getInstance();
+    private static volatile DriverPool pool;
+    private static volatile DriverPrespawner prespawner;
     
     // Register all available browser factories
     static {
@@ -66,7 +69,20 @@ public class WebDriverManager {
     }
     
     /**
-     * Initializes a new WebDriver instance based on configured browser
+     * Gets the current thread's WebDriver instance without creating one
+     * 
+     * @return The WebDriver instance or null if none is active on this thread
+     */
+    public static WebDriver getCurrentDriver() {
+        return DRIVER_THREAD_LOCAL.get();
+    }
+    
+    /**
+     * Initializes a new WebDriver instance based on configured browser.
+     * When pooling is enabled the session is leased from the driver pool instead of started cold,
+     * and when pre-spawning is enabled a session started in the background is used if available.
+     * The thread gets a view of the session that reports its commands to the session watchdog,
+     * and that also records them when command tracing is enabled.
      */
     public static void initializeDriver() {
         // Skip WebDriver initialization if skipBrowser is set to true
@@ -76,59 +92,139 @@ public class WebDriverManager {
         }
         
         String browser = CONFIG.getBrowser().toLowerCase();
+        // Pooled and pre-spawned sessions are only reused for the same launch settings
+        String sessionKey = CONFIG.current().getSessionKey();
         
-        WebDriverFactory factory = FACTORIES.getOrDefault(browser, FACTORIES.get("chrome"));
+        WebDriver driver;
+        if (CONFIG.isDriverPoolEnabled()) {
+            long leaseStart = System.nanoTime();
+            driver = getPool().lease(sessionKey, () -> obtainDriver(browser, sessionKey));
+            DriverLifecycleMetrics.record(Phase.POOL_LEASE, browser, CONFIG.isRemoteExecution(),
+                    System.nanoTime() - leaseStart);
+        } else {
+            driver = obtainDriver(browser, sessionKey);
+        }
+        SessionRegistry.markLeased(driver);
+        SESSION_THREAD_LOCAL.set(driver);
+        // Either view reports every command to the session watchdog as activity
+        DRIVER_THREAD_LOCAL.set(CONFIG.isCommandTracingEnabled() ? CommandTracer.trace(driver) : CommandTracer.watch(driver));
+        
+        Log.info("WebDriver initialized for browser: {}{}", browser, CONFIG.isRemoteExecution() ? " (remote)" : "");
+    }
+    
+    /**
+     * Gets a new session for the current thread, preferring a pre-spawned one, and
+     * starts the session for this thread's next test in the background when enabled
+     * 
+     * @param browser the browser to create
+     * @param sessionKey the launch settings of the current configuration
+     * @return the new WebDriver instance
+     */
+    private static WebDriver obtainDriver(String browser, String sessionKey) {
+        if (!CONFIG.isDriverPrespawnEnabled()) {
+            return createDriver(browser);
+        }
+        
+        DriverPrespawner currentPrespawner = getPrespawner();
+        WebDriver driver = currentPrespawner.take(sessionKey);
+        if (driver == null) {
+            driver = createDriver(browser);
+        } else {
+            Log.info("Using pre-spawned {} session", browser);
+        }
+        // The session is created on a background thread, so it is given this test's configuration
+        ConfigSnapshot snapshot = CONFIG.current();
+        currentPrespawner.prespawn(sessionKey, () -> CONFIG.callWith(snapshot, () -> createDriver(browser)));
+        return driver;
+    }
+    
+    /**
+     * Starts a new browser session with timeouts configured
+     * 
+     * @param browser the browser to create
+     * @return the new WebDriver instance
+     */
+    private static WebDriver createDriver(String browser) {
+        String factoryBrowser = FACTORIES.containsKey(browser) ? browser : "chrome";
+        boolean remote = CONFIG.isRemoteExecution();
         WebDriver driver;
         
         // Check if we should use remote WebDriver (for Docker/Grid)
-        if (CONFIG.isRemoteExecution()) {
+        if (remote) {
+            long launchStart = System.nanoTime();
             driver = createRemoteWebDriver(browser);
+            DriverLifecycleMetrics.record(Phase.BROWSER_LAUNCH, browser, true, System.nanoTime() - launchStart);
+            SessionRegistry.register(driver, browser);
         } else {
-            driver = factory.createDriver();
+            long setupStart = System.nanoTime();
+            DriverBinaryResolver.resolve(factoryBrowser);
+            DriverLifecycleMetrics.record(Phase.BINARY_SETUP, factoryBrowser, false, System.nanoTime() - setupStart);
+            
+            long launchStart = System.nanoTime();
+            driver = FACTORIES.get(factoryBrowser).createDriver();
+            DriverLifecycleMetrics.record(Phase.BROWSER_LAUNCH, factoryBrowser, false, System.nanoTime() - launchStart);
+            SessionRegistry.register(driver, factoryBrowser);
         }
         
+        long timeoutsStart = System.nanoTime();
         configureTimeouts(driver);
-        DRIVER_THREAD_LOCAL.set(driver);
-        
-        if (Log.getLogger().isInfoEnabled()) {
-            Log.info("WebDriver initialized for browser: " + browser + (CONFIG.isRemoteExecution() ? " (remote)" : ""));
+        DriverLifecycleMetrics.record(Phase.CONFIGURE_TIMEOUTS, remote ? browser : factoryBrowser, remote,
+                System.nanoTime() - timeoutsStart);
+        return driver;
+    }
+    
+    /**
+     * Gets the shared driver pool, creating it on first use
+     * 
+     * @return the driver pool
+     */
+    private static DriverPool getPool() {
+        DriverPool result = pool;
+        if (result == null) {
+            synchronized (WebDriverManager.class) {
+                result = pool;
+                if (result == null) {
+                    result = new DriverPool(CONFIG.getDriverPoolSize(), CONFIG.getDriverPoolMaxUses(),
+                            CONFIG.getDriverPoolMaxMemoryMb(), CONFIG.getDriverPoolLeaseTimeout());
+                    // A leaked session that was leased from the pool must give its slot back
+                    SessionRegistry.setReapHandler(result::discard);
+                    pool = result;
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Gets the shared driver pre-spawner, creating it on first use
+     * 
+     * @return the driver pre-spawner
+     */
+    private static DriverPrespawner getPrespawner() {
+        DriverPrespawner result = prespawner;
+        if (result == null) {
+            synchronized (WebDriverManager.class) {
+                result = prespawner;
+                if (result == null) {
+                    result = new DriverPrespawner(CONFIG.getDriverPrespawnMaxPerThread(),
+                            CONFIG.getDriverPrespawnMaxTotal());
+                    prespawner = result;
+                }
+            }
         }
+        return result;
     }
     
     /**
-     * Creates a RemoteWebDriver instance for Selenium Grid
+     * Creates a RemoteWebDriver instance for Selenium Grid over the shared remote transport,
+     * using the same launch profile as local sessions
      * 
      * @param browser the browser to create
      * @return the RemoteWebDriver instance
      */
     private static WebDriver createRemoteWebDriver(String browser) {
-        try {
-            URL gridUrl = new URL(CONFIG.getGridUrl());
-            
-            switch (browser) {
-                case "firefox":
-                    FirefoxOptions firefoxOptions = new FirefoxOptions();
-                    return new RemoteWebDriver(gridUrl, firefoxOptions);
-                    
-                case "edge":
-                    EdgeOptions edgeOptions = new EdgeOptions();
-                    return new RemoteWebDriver(gridUrl, edgeOptions);
-                
-                case "safari":
-                    SafariOptions safariOptions = new SafariOptions();
-                    return new RemoteWebDriver(gridUrl, safariOptions);
-                    
-                case "chrome":
-                default:
-                    ChromeOptions chromeOptions = new ChromeOptions();
-                    return new RemoteWebDriver(gridUrl, chromeOptions);
-            }
-        } catch (MalformedURLException e) {
-            if (Log.getLogger().isErrorEnabled()) {
-                Log.error("Invalid Grid URL: " + CONFIG.getGridUrl(), e);
-            }
-            throw new RuntimeException("Could not initialize RemoteWebDriver", e);
-        }
+        Capabilities options = CONFIG.getLaunchProfile().optionsFor(browser, CONFIG.isHeadless());
+        return RemoteSessionFactory.getInstance().createSession(options);
     }
     
     /**
@@ -137,19 +233,17 @@ public class WebDriverManager {
      * @param driver The WebDriver instance
      */
     private static void configureTimeouts(WebDriver driver) {
-        long implicitWait = CONFIG.getImplicitWaitTimeout();
         long pageLoadTimeout = CONFIG.getPageLoadTimeout();
         
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
+        // All element waits go through WaitEngine; an implicit wait would stack on top of them
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(pageLoadTimeout));
         
-        if (Log.getLogger().isInfoEnabled()) {
-            Log.info("Configured timeouts - Implicit Wait: " + implicitWait + "s, Page Load: " + pageLoadTimeout + "s");
-        }
+        Log.info("Configured timeouts - Implicit Wait: 0s, Page Load: {}s", pageLoadTimeout);
     }
     
     /**
-     * Quits the WebDriver instance and removes it from the ThreadLocal
+     * Quits the WebDriver instance (or returns it to the pool) and removes it from the ThreadLocal
      */
     public static void quitDriver() {
         // Skip if we're in API testing mode
@@ -157,16 +251,43 @@ public class WebDriverManager {
             return;
         }
         
-        WebDriver driver = DRIVER_THREAD_LOCAL.get();
+        WebDriver driver = SESSION_THREAD_LOCAL.get();
         if (driver != null) {
-            if (Log.getLogger().isInfoEnabled()) {
-                Log.info("Quitting WebDriver instance");
+            try {
+                DriverPool currentPool = pool;
+                if (currentPool != null && currentPool.release(driver)) {
+                    Log.info("Returned WebDriver instance to the pool");
+                } else {
+                    Log.info("Quitting WebDriver instance");
+                    SessionRegistry.quit(driver);
+                }
+            } finally {
+                SESSION_THREAD_LOCAL.remove();
+                DRIVER_THREAD_LOCAL.remove();
             }
-            driver.quit();
-            DRIVER_THREAD_LOCAL.remove();
         }
     }
     
+    /**
+     * Quits all pooled and unused pre-spawned sessions, reaps leaked ones and writes driver statistics.
+     * Called once at suite end.
+     */
+    public static void shutdown() {
+        DriverPrespawner currentPrespawner = prespawner;
+        if (currentPrespawner != null) {
+            currentPrespawner.shutdown();
+            prespawner = null;
+        }
+        DriverPool currentPool = pool;
+        if (currentPool != null) {
+            currentPool.shutdown();
+        }
+        SessionRegistry.reapAndReport();
+        RemoteSessionFactory.logStatisticsIfUsed();
+        DriverLifecycleMetrics.writeReport();
+        CommandTracer.writeReport();
+    }
+    
     /**
      * Interface for WebDriver factory implementations
      */
@@ -181,25 +302,15 @@ public class WebDriverManager {
     private static class ChromeDriverFactory implements WebDriverFactory {
         @Override
         public WebDriver createDriver() {
-            io.github.bonigarcia.wdm.WebDriverManager.chromedriver().setup();
-            ChromeOptions options = new ChromeOptions();
+            LaunchProfile profile = CONFIG.getLaunchProfile();
             boolean headless = CONFIG.isHeadless();
+            ChromeOptions options = profile.chromeOptions(headless);
             
-            if (headless) {
-                options.addArguments("--headless");
-                options.addArguments("--no-sandbox");
-                options.addArguments("--disable-dev-shm-usage");
-                options.addArguments("--window-size=1920,1080");
-            }
-            
-            options.addArguments("--start-maximized");
-            options.addArguments("--disable-notifications");
-            options.setAcceptInsecureCerts(true);
-            
-            if (Log.getLogger().isInfoEnabled()) {
-                Log.info("Creating Chrome WebDriver with headless=" + headless);
-            }
-            return new ChromeDriver(options);
+            Log.info("Creating Chrome WebDriver with profile={}, headless={}", profile, profile.isHeadless(headless));
+            ChromeDriver driver = new ChromeDriver(options);
+            NetworkBlocker.attach(driver);
+            NetworkIdleTracker.attach(driver);
+            return driver;
         }
     }
     
@@ -209,21 +320,11 @@ public class WebDriverManager {
     private static class FirefoxDriverFactory implements WebDriverFactory {
         @Override
         public WebDriver createDriver() {
-            io.github.bonigarcia.wdm.WebDriverManager.firefoxdriver().setup();
-            FirefoxOptions options = new FirefoxOptions();
+            LaunchProfile profile = CONFIG.getLaunchProfile();
             boolean headless = CONFIG.isHeadless();
+            FirefoxOptions options = profile.firefoxOptions(headless);
             
-            if (headless) {
-                options.addArguments("--headless");
-                options.addArguments("--width=1920");
-                options.addArguments("--height=1080");
-            }
-            
-            options.setAcceptInsecureCerts(true);
-            
-            if (Log.getLogger().isInfoEnabled()) {
-                Log.info("Creating Firefox WebDriver with headless=" + headless);
-            }
+            Log.info("Creating Firefox WebDriver with profile={}, headless={}", profile, profile.isHeadless(headless));
             return new FirefoxDriver(options);
         }
     }
@@ -234,23 +335,15 @@ public class WebDriverManager {
     private static class EdgeDriverFactory implements WebDriverFactory {
         @Override
         public WebDriver createDriver() {
-            io.github.bonigarcia.wdm.WebDriverManager.edgedriver().setup();
-            EdgeOptions options = new EdgeOptions();
+            LaunchProfile profile = CONFIG.getLaunchProfile();
             boolean headless = CONFIG.isHeadless();
+            EdgeOptions options = profile.edgeOptions(headless);
             
-            if (headless) {
-                options.addArguments("--headless");
-                options.addArguments("--no-sandbox");
-                options.addArguments("--disable-dev-shm-usage");
-                options.addArguments("--window-size=1920,1080");
-            }
-            
-            options.setAcceptInsecureCerts(true);
-            
-            if (Log.getLogger().isInfoEnabled()) {
-                Log.info("Creating Edge WebDriver with headless=" + headless);
-            }
-            return new EdgeDriver(options);
+            Log.info("Creating Edge WebDriver with profile={}, headless={}", profile, profile.isHeadless(headless));
+            EdgeDriver driver = new EdgeDriver(options);
+            NetworkBlocker.attach(driver);
+            NetworkIdleTracker.attach(driver);
+            return driver;
         }
     }
     
@@ -260,11 +353,9 @@ public class WebDriverManager {
     private static class SafariDriverFactory implements WebDriverFactory {
         @Override
         public WebDriver createDriver() {
-            SafariOptions options = new SafariOptions();
-            if (Log.getLogger().isInfoEnabled()) {
-                Log.info("Creating Safari WebDriver");
-            }
+            SafariOptions options = CONFIG.getLaunchProfile().safariOptions();
+            Log.info("Creating Safari WebDriver");
             return new SafariDriver(options);
         }
     }
-} 
\ No newline at end of file
+}
@@ -1,71 +1,82 @@
 package com.solutions.it.listeners;
 
-import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.markuputils.ExtentColor;
 import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.solutions.it.base.BaseTest;
+import com.solutions.it.base.TestContext;
 import com.solutions.it.reports.ExtentManager;
-import com.solutions.it.utils.ConfigReader;
+import com.solutions.it.reports.ScreenshotPipeline;
 import com.solutions.it.utils.Log;
+import com.solutions.it.utils.TestLogCapture;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Arrays;
 
-public class TestListener implements ITestListener {
-    private final ExtentReports extent = ExtentManager.getInstance();
+public class TestListener implements ITestListener, ISuiteListener {
+    private static final Duration SCREENSHOT_DRAIN_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration TEST_LOG_DRAIN_TIMEOUT = Duration.ofSeconds(10);
     
     @Override
     public void onStart(ITestContext context) {
-        Log.info("================ Test Suite Started: " + context.getName() + " ================");
+        Log.info("================ Test Suite Started: {} ================", context.getName());
     }
     
     @Override
     public void onFinish(ITestContext context) {
-        Log.info("================ Test Suite Finished: " + context.getName() + " ================");
-        extent.flush();
+        Log.info("================ Test Suite Finished: {} ================", context.getName());
+        // Screenshots still being written must be attached before the report is flushed
+        if (!ScreenshotPipeline.awaitCompletion(SCREENSHOT_DRAIN_TIMEOUT)) {
+            Log.warn("Flushing report while screenshots are still being written");
+        }
+        ExtentManager.flushReport();
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        TestLogCapture.writeReport(TEST_LOG_DRAIN_TIMEOUT);
+        // The HTML report is rendered once per suite from the tests recorded so far
+        ExtentManager.renderReport();
     }
     
     @Override
     public void onTestStart(ITestResult result) {
         Log.startTestCase(result.getMethod().getMethodName());
-        ExtentTest test = extent.createTest(result.getMethod().getMethodName(), 
-                                            result.getMethod().getDescription());
-        ExtentManager.setTest(test);
+        // Reuses the context the base class opened for this test on this thread
+        TestContext.forResult(result);
     }
     
     @Override
     public void onTestSuccess(ITestResult result) {
-        Log.info("Test Passed: " + result.getMethod().getMethodName());
-        ExtentManager.getTest().log(Status.PASS, 
+        Log.info("Test Passed: {}", result.getMethod().getMethodName());
+        TestContext.forResult(result).getReportNode().log(Status.PASS, 
                 MarkupHelper.createLabel(result.getMethod().getMethodName() + " - Test Passed", ExtentColor.GREEN));
         Log.endTestCase(result.getMethod().getMethodName());
     }
     
     @Override
     public void onTestFailure(ITestResult result) {
-        Log.error("Test Failed: " + result.getMethod().getMethodName());
-        Log.error("Failure Reason: " + result.getThrowable().getMessage());
+        Log.error("Test Failed: {}", result.getMethod().getMethodName());
+        Log.error("Failure Reason: {}", result.getThrowable().getMessage());
         
         // Log stack trace
-        Log.error(Arrays.toString(result.getThrowable().getStackTrace()));
+        Log.error(() -> Arrays.toString(result.getThrowable().getStackTrace()));
         
         // Capture screenshot
         captureScreenshot(result);
         
         // Log to Extent Reports
-        ExtentTest test = ExtentManager.getTest();
+        ExtentTest test = TestContext.forResult(result).getReportNode();
         test.log(Status.FAIL, MarkupHelper.createLabel(result.getMethod().getMethodName() + " - Test Failed", ExtentColor.RED));
         test.log(Status.FAIL, result.getThrowable());
         
@@ -74,8 +85,8 @@ public class TestListener implements ITestListener {
     
     @Override
     public void onTestSkipped(ITestResult result) {
-        Log.warn("Test Skipped: " + result.getMethod().getMethodName());
-        ExtentTest test = ExtentManager.getTest();
+        Log.warn("Test Skipped: {}", result.getMethod().getMethodName());
+        ExtentTest test = TestContext.forResult(result).getReportNode();
         test.log(Status.SKIP, MarkupHelper.createLabel(result.getMethod().getMethodName() + " - Test Skipped", ExtentColor.ORANGE));
         test.log(Status.SKIP, result.getThrowable());
         Log.endTestCase(result.getMethod().getMethodName());
@@ -91,33 +102,18 @@ public class TestListener implements ITestListener {
             }
             
             if (driver != null) {
-                String screenshotPath = ConfigReader.getProperty("screenshot.path");
-                if (screenshotPath == null || screenshotPath.isEmpty()) {
-                    screenshotPath = "test-output/screenshots/";
-                }
-                
-                // Ensure directory exists
-                Path path = Paths.get(screenshotPath);
-                if (!Files.exists(path)) {
-                    Files.createDirectories(path);
-                }
-                
-                String screenshotName = result.getMethod().getMethodName() + "_" + System.currentTimeMillis() + ".png";
-                String fullPath = screenshotPath + screenshotName;
-                
-                // Take screenshot
-                File screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-                Files.copy(screenshot.toPath(), Paths.get(fullPath));
-                
-                Log.info("Screenshot captured: " + fullPath);
-                
-                // Attach screenshot to extent report
-                ExtentManager.getTest().addScreenCaptureFromPath(fullPath, "Failure Screenshot");
+                // Only the capture happens on the test thread; encoding and disk I/O are done in the background
+                byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+                TestContext context = TestContext.forResult(result);
+                ScreenshotPipeline.submit(result.getMethod().getMethodName(), screenshot, file -> {
+                    context.addArtifact(file);
+                    ExtentManager.attachScreenshot(context.getReportNode(), file.toString(), "Failure Screenshot");
+                });
             } else {
                 Log.warn("WebDriver instance was null. Unable to capture screenshot.");
             }
-        } catch (IOException e) {
-            Log.error("Failed to capture screenshot: " + e.getMessage(), e);
+        } catch (WebDriverException e) {
+            Log.error("Failed to capture screenshot: {}", e.getMessage(), e);
         }
     }
 } 
\ No newline at end of file
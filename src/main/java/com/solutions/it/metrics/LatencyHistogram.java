@@ -0,0 +1,92 @@
+package com.solutions.it.metrics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe collector of latency samples in nanoseconds.
+ * Keeps the raw samples so exact percentiles can be computed when the run ends.
+ */
+public class LatencyHistogram {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    
+    private long[] samples = new long[64];
+    private int count;
+    
+    /**
+     * Records a single sample
+     * 
+     * @param nanos the measured duration in nanoseconds
+     */
+    public synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+    
+    /**
+     * Gets the number of recorded samples
+     * 
+     * @return the sample count
+     */
+    public synchronized int getCount() {
+        return count;
+    }
+    
+    /**
+     * Gets the sum of all recorded samples
+     * 
+     * @return the total in nanoseconds
+     */
+    public synchronized long getTotalNanos() {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += samples[i];
+        }
+        return total;
+    }
+    
+    /**
+     * Summarizes the recorded samples as count, mean and percentiles in milliseconds
+     * 
+     * @return an ordered map suitable for JSON serialization
+     */
+    public Map<String, Object> summary() {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(samples, count);
+        }
+        Arrays.sort(sorted);
+        
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", sorted.length);
+        if (sorted.length == 0) {
+            return summary;
+        }
+        long total = 0;
+        for (long sample : sorted) {
+            total += sample;
+        }
+        summary.put("totalMs", round(total / NANOS_PER_MILLI));
+        summary.put("minMs", round(sorted[0] / NANOS_PER_MILLI));
+        summary.put("meanMs", round(total / (double) sorted.length / NANOS_PER_MILLI));
+        summary.put("p50Ms", percentile(sorted, 50));
+        summary.put("p90Ms", percentile(sorted, 90));
+        summary.put("p95Ms", percentile(sorted, 95));
+        summary.put("p99Ms", percentile(sorted, 99));
+        summary.put("maxMs", round(sorted[sorted.length - 1] / NANOS_PER_MILLI));
+        return summary;
+    }
+    
+    private static double percentile(long[] sorted, int percentile) {
+        // Nearest-rank percentile
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return round(sorted[Math.max(0, rank - 1)] / NANOS_PER_MILLI);
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
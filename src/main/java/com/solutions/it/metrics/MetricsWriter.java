@@ -0,0 +1,41 @@
+package com.solutions.it.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.solutions.it.config.FrameworkConfig;
+import com.solutions.it.utils.Log;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes machine-readable run metrics as JSON files into the configured metrics directory.
+ */
+public final class MetricsWriter {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    
+    private MetricsWriter() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Writes the given data as JSON
+     * 
+     * @param fileName the file name inside the metrics directory
+     * @param data the data to serialize
+     * @return the written file, or null if writing failed
+     */
+    public static Path write(String fileName, Object data) {
+        Path file = Paths.get(FrameworkConfig.getInstance().getProperty("metrics.path", "./test-output/metrics/"), fileName);
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            OBJECT_MAPPER.writeValue(file.toFile(), data);
+            return file;
+        } catch (IOException e) {
+            Log.error("Failed to write metrics file {}: {}", file, e.getMessage(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.solutions.it.metrics;
+
+import com.solutions.it.pages.BasePage;
+
+import java.util.Optional;
+
+/**
+ * Resolves which page-object method the current thread is executing, e.g. "LoginPage.login",
+ * so waits and driver commands can be attributed to the page action that caused them.
+ * Only methods declared by {@link BasePage} subclasses count; the element handles, caches and
+ * waits they call through are skipped.
+ */
+public final class PageMethodResolver {
+    private static final String UNKNOWN = "unknown";
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    
+    private PageMethodResolver() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Finds the nearest page-object method on the current stack
+     * 
+     * @return the page method as SimpleClassName.method, or "unknown" outside page objects
+     */
+    public static String current() {
+        Optional<String> pageMethod = WALKER.walk(frames -> frames
+                .filter(frame -> isPageMethod(frame.getDeclaringClass(), frame.getMethodName()))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName()));
+        return pageMethod.orElse(UNKNOWN);
+    }
+    
+    private static boolean isPageMethod(Class<?> declaringClass, String methodName) {
+        // BasePage's own helpers are plumbing shared by every page, not a page action
+        return declaringClass != BasePage.class && BasePage.class.isAssignableFrom(declaringClass)
+                && !methodName.startsWith("lambda$");
+    }
+    
+    private static String simpleName(String className) {
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        int nested = simpleName.indexOf('$');
+        return nested >= 0 ? simpleName.substring(0, nested) : simpleName;
+    }
+}
@@ -1,96 +1,172 @@
 package com.solutions.it.pages;
 
-import com.solutions.it.utils.ConfigReader;
+import com.solutions.it.config.FrameworkConfig;
+import com.solutions.it.drivers.NetworkIdleTracker;
 import com.solutions.it.utils.Log;
+import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
-import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 public class BasePage {
+    private static final String FIND_FUNCTIONS =
+            "function first(list) { return list.length > 0 ? list[0] : null; }"
+            + "function find(using, value) {"
+            + "  switch (using) {"
+            + "    case 'css selector': return document.querySelector(value);"
+            + "    case 'xpath': return document.evaluate(value, document, null,"
+            + "        XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "    case 'id': return document.getElementById(value);"
+            + "    case 'name': return first(document.getElementsByName(value));"
+            + "    case 'class name': return first(document.getElementsByClassName(value));"
+            + "    case 'tag name': return first(document.getElementsByTagName(value));"
+            + "    case 'link text': case 'partial link text':"
+            + "      var links = document.getElementsByTagName('a');"
+            + "      for (var i = 0; i < links.length; i++) {"
+            + "        var linkText = links[i].innerText.trim();"
+            + "        if (using === 'link text' ? linkText === value : linkText.indexOf(value) >= 0) { return links[i]; }"
+            + "      }"
+            + "      return null;"
+            + "  }"
+            + "  return null;"
+            + "}";
+    private static final String SNAPSHOT_SCRIPT =
+            "var specs = arguments[0], attributeNames = arguments[1], result = {};"
+            + FIND_FUNCTIONS
+            + "for (var name in specs) {"
+            + "  var e = find(specs[name][0], specs[name][1]);"
+            + "  if (!e) { result[name] = { present: false }; continue; }"
+            + "  var style = window.getComputedStyle(e);"
+            + "  var displayed = style.display !== 'none' && style.visibility !== 'hidden'"
+            + "      && parseFloat(style.opacity) > 0 && e.getClientRects().length > 0;"
+            + "  var attributes = {};"
+            + "  for (var j = 0; j < attributeNames.length; j++) {"
+            + "    var attribute = attributeNames[j] === 'value' ? e.value : e.getAttribute(attributeNames[j]);"
+            + "    if (attribute != null) { attributes[attributeNames[j]] = String(attribute); }"
+            + "  }"
+            + "  result[name] = { present: true, displayed: displayed, enabled: !e.disabled,"
+            + "      text: (displayed ? e.innerText : e.textContent || '').trim(), attributes: attributes };"
+            + "}"
+            + "return result;";
+    private static final String FILL_SCRIPT =
+            "var fields = arguments[0], notReady = [], elements = [];"
+            + FIND_FUNCTIONS
+            + "for (var i = 0; i < fields.length; i++) {"
+            + "  var e = find(fields[i][0], fields[i][1]);"
+            + "  if (!e || e.disabled || e.readOnly || e.getClientRects().length === 0) { notReady.push(fields[i][1]); }"
+            + "  elements.push(e);"
+            + "}"
+            + "if (notReady.length > 0) { return notReady; }"
+            + "for (var j = 0; j < elements.length; j++) {"
+            + "  var field = elements[j];"
+            + "  var proto = field instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype"
+            + "      : field instanceof HTMLSelectElement ? HTMLSelectElement.prototype : HTMLInputElement.prototype;"
+            // The native setter bypasses framework wrappers so Vue sees the events as real input
+            + "  field.focus();"
+            + "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(field, fields[j][2]);"
+            + "  field.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "  field.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "  field.blur();"
+            + "}"
+            + "return notReady;";
+    
     protected WebDriver driver;
-    protected WebDriverWait wait;
-    protected WebDriverWait shortWait; // For operations that should timeout faster
+    protected WaitEngine wait; // The only wait mechanism; drivers run without an implicit wait
+    protected Duration shortTimeout; // For checks that should time out faster
+    protected Duration quietPeriod; // How long the page must stay idle to count as loaded
+    protected Duration domSettleMax; // How long DOM changes may delay a load once the network is quiet
+    protected FillMode fillMode; // How fillForm enters values unless a mode is passed
+    protected final ElementCache elementCache = new ElementCache(); // Element handles of this page instance
     
     public BasePage(WebDriver driver) {
         this.driver = driver;
         
-        // Configure standard and shorter waits
-        long explicitWaitSeconds = Long.parseLong(ConfigReader.getProperty("explicit.wait"));
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(explicitWaitSeconds));
-        this.shortWait = new WebDriverWait(driver, Duration.ofSeconds(5)); // 5 second wait for quick checks
+        // Standard budget per action, shorter budget for quick checks; parsed once per config snapshot
+        FrameworkConfig config = FrameworkConfig.getInstance();
+        this.wait = new WaitEngine(driver, Duration.ofSeconds(config.getExplicitWaitTimeout()));
+        this.shortTimeout = Duration.ofSeconds(config.getShortWaitTimeout());
+        this.quietPeriod = Duration.ofMillis(config.getPageQuietPeriodMillis());
+        this.domSettleMax = Duration.ofMillis(config.getPageDomSettleMaxMillis());
+        this.fillMode = config.getParsedProperty("form.fill.mode", FillMode.class,
+                value -> value != null ? FillMode.valueOf(value.toUpperCase(Locale.ENGLISH)) : FillMode.SCRIPT);
         
-        PageFactory.initElements(driver, this);
+        // Locators and setters are resolved once per page class, not per construction
+        PageMetadata.of(getClass()).bind(this, driver, elementCache);
     }
     
     protected void waitForElementToBeClickable(WebElement element) {
+        waitForElementToBeClickable(element, wait.getDefaultTimeout());
+    }
+    
+    protected void waitForElementToBeClickable(WebElement element, Duration timeout) {
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(element));
+            wait.until(ExpectedConditions.elementToBeClickable(element), timeout);
         } catch (Exception e) {
-            if (Log.getLogger().isErrorEnabled()) {
-                Log.error("Element not clickable: " + element.toString(), e);
-            }
+            Log.error("Element not clickable: {}", element, e);
         }
     }
     
     protected void waitForElementToBeVisible(WebElement element) {
+        waitForElementToBeVisible(element, wait.getDefaultTimeout());
+    }
+    
+    protected void waitForElementToBeVisible(WebElement element, Duration timeout) {
         try {
-            wait.until(ExpectedConditions.visibilityOf(element));
+            wait.until(ExpectedConditions.visibilityOf(element), timeout);
         } catch (Exception e) {
-            if (Log.getLogger().isErrorEnabled()) {
-                Log.error("Element not visible: " + element.toString(), e);
-            }
+            Log.error("Element not visible: {}", element, e);
         }
     }
     
     // Quick check with shorter timeout - returns boolean instead of throwing exception
     protected boolean waitForElementToBeVisibleQuick(WebElement element) {
-        try {
-            shortWait.until(ExpectedConditions.visibilityOf(element));
+        return waitForElementToBeVisibleQuick(element, shortTimeout);
+    }
+    
+    protected boolean waitForElementToBeVisibleQuick(WebElement element, Duration timeout) {
+        if (wait.isSatisfiedWithin(ExpectedConditions.visibilityOf(element), timeout)) {
             return true;
-        } catch (TimeoutException e) {
-            if (Log.getLogger().isWarnEnabled()) {
-                Log.warn("Element not quickly visible (using short wait): " + element.toString());
-            }
-            return false;
-        } catch (Exception e) {
-            if (Log.getLogger().isErrorEnabled()) {
-                Log.error("Error checking element visibility: " + element.toString(), e);
-            }
-            return false;
         }
+        Log.warn("Element not visible within {}ms: {}", timeout.toMillis(), element);
+        return false;
     }
     
     protected void click(WebElement element) {
-        waitForElementToBeClickable(element);
+        click(element, wait.getDefaultTimeout());
+    }
+    
+    /**
+     * Clicks an element, retrying while it is missing, stale or covered.
+     * Waiting and clicking share one timeout budget; a JavaScript click is the fallback.
+     */
+    protected void click(WebElement element, Duration timeout) {
         try {
-            element.click();
-            if (Log.getLogger().isInfoEnabled()) {
-                Log.info("Clicked on element: " + element.toString());
-            }
+            wait.until(webDriver -> {
+                element.click();
+                return true;
+            }, timeout);
+            Log.info("Clicked on element: {}", element);
         } catch (Exception e) {
-            if (Log.getLogger().isErrorEnabled()) {
-                Log.error("Failed to click element: " + element.toString(), e);
-            }
+            Log.error("Failed to click element: {}", element, e);
             
             try {
                 // Try JavaScript click as fallback
                 JavascriptExecutor js = (JavascriptExecutor) driver;
                 js.executeScript("arguments[0].click();", element);
                 
-                if (Log.getLogger().isInfoEnabled()) {
-                    Log.info("Clicked element using JavaScript: " + element.toString());
-                }
+                Log.info("Clicked element using JavaScript: {}", element);
             } catch (Exception jsException) {
-                if (Log.getLogger().isErrorEnabled()) {
-                    Log.error("Failed to click element using JavaScript: " + element.toString(), jsException);
-                }
+                Log.error("Failed to click element using JavaScript: {}", element, jsException);
                 // Preserve the original exception's stack trace
                 jsException.addSuppressed(e);
                 throw jsException;
@@ -99,77 +175,176 @@ public class BasePage {
     }
     
     protected void sendKeys(WebElement element, String text) {
-        waitForElementToBeVisible(element);
+        sendKeys(element, text, wait.getDefaultTimeout());
+    }
+    
+    protected void sendKeys(WebElement element, String text, Duration timeout) {
+        waitForElementToBeVisible(element, timeout);
         try {
             element.clear();
             element.sendKeys(text);
-            if (Log.getLogger().isInfoEnabled()) {
-                Log.info("Entered text '" + text + "' in element: " + element.toString());
-            }
+            Log.info("Entered text '{}' in element: {}", text, element);
         } catch (Exception e) {
-            if (Log.getLogger().isErrorEnabled()) {
-                Log.error("Failed to enter text in element: " + element.toString(), e);
+            Log.error("Failed to enter text in element: {}", element, e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Fills several form fields using the page's configured {@link FillMode}
+     * 
+     * @param values the values keyed by field locator, in fill order
+     */
+    protected void fillForm(Map<By, String> values) {
+        fillForm(values, fillMode);
+    }
+    
+    /**
+     * Fills several form fields. In {@link FillMode#SCRIPT} mode all values are set in one script
+     * call that waits until every field is visible and editable and fires the input and change
+     * events the application listens for; {@link FillMode#TYPE} clears and types each field.
+     * 
+     * @param values the values keyed by field locator, in fill order; a null value clears the field
+     * @param mode how to enter the values
+     */
+    protected void fillForm(Map<By, String> values, FillMode mode) {
+        if (mode == FillMode.TYPE) {
+            for (Map.Entry<By, String> entry : values.entrySet()) {
+                String value = entry.getValue() != null ? entry.getValue() : "";
+                sendKeys(new CachedElement(driver, entry.getKey(), elementCache), value);
             }
+            return;
+        }
+        
+        List<List<String>> fields = new ArrayList<>();
+        for (Map.Entry<By, String> entry : values.entrySet()) {
+            List<String> field = new ArrayList<>(remoteSpec(entry.getKey()));
+            field.add(entry.getValue() != null ? entry.getValue() : "");
+            fields.add(field);
+        }
+        Object[] notReady = new Object[1];
+        try {
+            wait.until(webDriver -> {
+                notReady[0] = ((JavascriptExecutor) webDriver).executeScript(FILL_SCRIPT, fields);
+                return notReady[0] instanceof List && ((List<?>) notReady[0]).isEmpty();
+            });
+            Log.info("Filled {} form fields in one script call", fields.size());
+        } catch (Exception e) {
+            Log.error("Failed to fill form, fields not ready: {}", notReady[0], e);
             throw e;
         }
     }
     
     protected String getText(WebElement element) {
-        waitForElementToBeVisible(element);
+        return getText(element, wait.getDefaultTimeout());
+    }
+    
+    protected String getText(WebElement element, Duration timeout) {
+        waitForElementToBeVisible(element, timeout);
         try {
             String text = element.getText();
-            if (Log.getLogger().isInfoEnabled()) {
-                Log.info("Got text '" + text + "' from element: " + element.toString());
-            }
+            Log.info("Got text '{}' from element: {}", text, element);
             return text;
         } catch (Exception e) {
-            if (Log.getLogger().isErrorEnabled()) {
-                Log.error("Failed to get text from element: " + element.toString(), e);
-            }
+            Log.error("Failed to get text from element: {}", element, e);
             throw e;
         }
     }
     
     protected boolean isElementDisplayed(WebElement element) {
-        try {
-            return waitForElementToBeVisibleQuick(element);
-        } catch (NoSuchElementException e) {
-            return false;
+        return waitForElementToBeVisibleQuick(element);
+    }
+    
+    protected boolean isElementDisplayed(WebElement element, Duration timeout) {
+        return waitForElementToBeVisibleQuick(element, timeout);
+    }
+    
+    /**
+     * Captures presence, visibility, text and the given attributes of several elements
+     * in one script round trip instead of one or more wire calls per element
+     * 
+     * @param locators the locators keyed by the names used to read the snapshot
+     * @param attributeNames attributes to capture for every present element
+     * @return the snapshot
+     */
+    @SuppressWarnings("unchecked")
+    protected ElementSnapshot snapshot(Map<String, By> locators, String... attributeNames) {
+        Map<String, List<String>> specs = new LinkedHashMap<>();
+        for (Map.Entry<String, By> entry : locators.entrySet()) {
+            specs.put(entry.getKey(), remoteSpec(entry.getValue()));
+        }
+        
+        Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(SNAPSHOT_SCRIPT, specs, new ArrayList<>(Arrays.asList(attributeNames)));
+        Map<String, ElementSnapshot.ElementState> states = new LinkedHashMap<>();
+        for (String name : locators.keySet()) {
+            Map<String, Object> state = raw != null ? (Map<String, Object>) raw.get(name) : null;
+            if (state == null || !Boolean.TRUE.equals(state.get("present"))) {
+                continue;
+            }
+            Map<String, String> attributes = new LinkedHashMap<>();
+            Object rawAttributes = state.get("attributes");
+            if (rawAttributes instanceof Map) {
+                ((Map<String, Object>) rawAttributes).forEach((key, value) -> attributes.put(key, String.valueOf(value)));
+            }
+            states.put(name, new ElementSnapshot.ElementState(true, Boolean.TRUE.equals(state.get("displayed")),
+                    Boolean.TRUE.equals(state.get("enabled")), String.valueOf(state.get("text")), attributes));
         }
+        return new ElementSnapshot(states);
+    }
+    
+    /**
+     * Waits until the named elements are all displayed, re-checking them with one snapshot per poll
+     * 
+     * @param locators the locators keyed by name
+     * @param timeout the timeout budget
+     * @return the last snapshot taken, whether or not all elements became displayed
+     */
+    protected ElementSnapshot waitForSnapshot(Map<String, By> locators, Duration timeout) {
+        ElementSnapshot[] last = new ElementSnapshot[1];
+        String[] names = locators.keySet().toArray(new String[0]);
+        wait.isSatisfiedWithin(webDriver -> {
+            last[0] = snapshot(locators);
+            return last[0].allDisplayed(names);
+        }, timeout);
+        return last[0] != null ? last[0] : new ElementSnapshot(new LinkedHashMap<>());
+    }
+    
+    private static List<String> remoteSpec(By by) {
+        if (!(by instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Locator cannot be evaluated in the page: " + by);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        return Arrays.asList(parameters.using(), String.valueOf(parameters.value()));
     }
     
     protected void scrollToElement(WebElement element) {
         try {
             ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", element);
-            if (Log.getLogger().isInfoEnabled()) {
-                Log.info("Scrolled to element: " + element.toString());
-            }
+            Log.info("Scrolled to element: {}", element);
         } catch (Exception e) {
-            if (Log.getLogger().isErrorEnabled()) {
-                Log.error("Failed to scroll to element: " + element.toString(), e);
-            }
+            Log.error("Failed to scroll to element: {}", element, e);
         }
     }
     
+    /**
+     * Waits until the page has parsed, no XHR/fetch call is in flight and the DOM has settled.
+     * Returns as soon as the application is idle instead of sleeping for a fixed time. DOM
+     * changes stop counting once the network has been quiet for page.dom.settle.max.ms, so a
+     * clock or spinner does not keep the page from loading.
+     * 
+     * @throws TimeoutException if the page is still busy when the explicit wait runs out
+     */
     protected void waitForPageLoad() {
         try {
-            wait.until(webDriver -> "complete".equals(
-                    ((JavascriptExecutor) webDriver).executeScript("return document.readyState")));
-            
-            if (Log.getLogger().isInfoEnabled()) {
-                Log.info("Page loaded completely");
-            }
-            
-            // Additional wait for AJAX completions (if any)
-            try {
-                Thread.sleep(500); // Small delay to allow for any final AJAX completions
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        } catch (Exception e) {
-            if (Log.getLogger().isErrorEnabled()) {
-                Log.error("Error waiting for page to load: " + e.getMessage());
-            }
+            wait.until(NetworkIdleTracker.networkIdle(quietPeriod, domSettleMax));
+        } catch (TimeoutException e) {
+            Log.error("Page did not finish loading: {}", e.getMessage());
+            throw e;
         }
+        // Handles resolved before a navigation belong to the previous view
+        elementCache.invalidateAll();
+        
+        Log.info("Page loaded completely");
     }
 } 
\ No newline at end of file
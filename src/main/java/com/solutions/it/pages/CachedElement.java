@@ -0,0 +1,197 @@
+package com.solutions.it.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Lightweight element handle bound to a page-object field. The underlying element is
+ * resolved through the page's {@link ElementCache}; a call that hits a stale handle drops it,
+ * looks the element up again and is retried once, so page objects never see the exception
+ * for a handle the cache kept too long.
+ */
+public final class CachedElement implements WebElement, WrapsElement, Locatable {
+    private final SearchContext searchContext;
+    private final By by;
+    private final ElementCache cache;
+    
+    public CachedElement(SearchContext searchContext, By by, ElementCache cache) {
+        this.searchContext = searchContext;
+        this.by = by;
+        this.cache = cache;
+    }
+    
+    private <T> T call(Function<WebElement, T> action) {
+        try {
+            return action.apply(cache.find(searchContext, by));
+        } catch (StaleElementReferenceException e) {
+            cache.invalidate(by);
+            return action.apply(cache.find(searchContext, by));
+        }
+    }
+    
+    private void run(Consumer<WebElement> action) {
+        call(element -> {
+            action.accept(element);
+            return null;
+        });
+    }
+    
+    @Override
+    public WebElement getWrappedElement() {
+        return cache.find(searchContext, by);
+    }
+    
+    @Override
+    public void click() {
+        run(WebElement::click);
+    }
+    
+    @Override
+    public void submit() {
+        run(WebElement::submit);
+    }
+    
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {
+        run(element -> element.sendKeys(keysToSend));
+    }
+    
+    @Override
+    public void clear() {
+        run(WebElement::clear);
+    }
+    
+    @Override
+    public String getTagName() {
+        return call(WebElement::getTagName);
+    }
+    
+    @Override
+    public String getDomProperty(String name) {
+        return call(element -> element.getDomProperty(name));
+    }
+    
+    @Override
+    public String getDomAttribute(String name) {
+        return call(element -> element.getDomAttribute(name));
+    }
+    
+    @Override
+    public String getAttribute(String name) {
+        return call(element -> element.getAttribute(name));
+    }
+    
+    @Override
+    public String getAriaRole() {
+        return call(WebElement::getAriaRole);
+    }
+    
+    @Override
+    public String getAccessibleName() {
+        return call(WebElement::getAccessibleName);
+    }
+    
+    @Override
+    public boolean isSelected() {
+        return call(WebElement::isSelected);
+    }
+    
+    @Override
+    public boolean isEnabled() {
+        return call(WebElement::isEnabled);
+    }
+    
+    @Override
+    public String getText() {
+        return call(WebElement::getText);
+    }
+    
+    @Override
+    public List<WebElement> findElements(By locator) {
+        return call(element -> element.findElements(locator));
+    }
+    
+    @Override
+    public WebElement findElement(By locator) {
+        return call(element -> element.findElement(locator));
+    }
+    
+    @Override
+    public SearchContext getShadowRoot() {
+        return call(WebElement::getShadowRoot);
+    }
+    
+    @Override
+    public boolean isDisplayed() {
+        return call(WebElement::isDisplayed);
+    }
+    
+    @Override
+    public Point getLocation() {
+        return call(WebElement::getLocation);
+    }
+    
+    @Override
+    public Dimension getSize() {
+        return call(WebElement::getSize);
+    }
+    
+    @Override
+    public Rectangle getRect() {
+        return call(WebElement::getRect);
+    }
+    
+    @Override
+    public String getCssValue(String propertyName) {
+        return call(element -> element.getCssValue(propertyName));
+    }
+    
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+        return call(element -> element.getScreenshotAs(target));
+    }
+    
+    @Override
+    public Coordinates getCoordinates() {
+        return call(element -> ((Locatable) element).getCoordinates());
+    }
+    
+    /**
+     * Handles are equal when they locate the same element for the same page. Comparing the live
+     * elements would cost a lookup per call and could not be symmetric with a plain WebElement.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof CachedElement)) {
+            return false;
+        }
+        CachedElement that = (CachedElement) other;
+        return cache == that.cache && searchContext == that.searchContext && by.equals(that.by);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(cache) + by.hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return "Cached element for: " + by;
+    }
+}
@@ -0,0 +1,105 @@
+package com.solutions.it.pages;
+
+import com.solutions.it.utils.Log;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Element handles resolved for one page instance. A handle is looked up once and reused
+ * until it goes stale or the page navigates; it is then looked up again on next use.
+ * Hits and remote lookups are counted per test thread so the saved round trips show up
+ * in the test log.
+ */
+public class ElementCache {
+    private static final ThreadLocal<Statistics> STATISTICS = ThreadLocal.withInitial(Statistics::new);
+    
+    private final Map<By, WebElement> elements = new HashMap<>();
+    
+    /**
+     * Gets the cached element for the locator, looking it up on a miss
+     * 
+     * @param context the driver or element to search from
+     * @param by the locator
+     * @return the element
+     */
+    public synchronized WebElement find(SearchContext context, By by) {
+        WebElement element = elements.get(by);
+        if (element != null) {
+            STATISTICS.get().hits++;
+            return element;
+        }
+        STATISTICS.get().lookups++;
+        element = context.findElement(by);
+        elements.put(by, element);
+        return element;
+    }
+    
+    /**
+     * Looks up all elements for the locator. Lists are never cached since their size changes.
+     * 
+     * @param context the driver or element to search from
+     * @param by the locator
+     * @return the elements
+     */
+    public List<WebElement> findAll(SearchContext context, By by) {
+        STATISTICS.get().lookups++;
+        return context.findElements(by);
+    }
+    
+    /**
+     * Drops the handle for one locator, e.g. after it went stale
+     * 
+     * @param by the locator
+     */
+    public synchronized void invalidate(By by) {
+        elements.remove(by);
+    }
+    
+    /**
+     * Drops every handle, e.g. after a navigation
+     */
+    public synchronized void invalidateAll() {
+        elements.clear();
+    }
+    
+    /**
+     * Resets the current thread's hit and lookup counters, typically when a test starts
+     */
+    public static void resetStatistics() {
+        STATISTICS.remove();
+    }
+    
+    public static long getHits() {
+        return STATISTICS.get().hits;
+    }
+    
+    public static long getLookups() {
+        return STATISTICS.get().lookups;
+    }
+    
+    /**
+     * Logs the current thread's cache hits against remote lookups
+     * 
+     * @param testName the test the counters belong to
+     */
+    public static void logStatistics(String testName) {
+        Statistics statistics = STATISTICS.get();
+        if (statistics.hits + statistics.lookups > 0) {
+            Log.info("Element cache for {} - hits: {}, remote lookups: {}, round trips saved: {}", testName,
+                    statistics.hits, statistics.lookups, statistics.hits);
+        }
+    }
+    
+    /**
+     * Hit and lookup counters of one test thread
+     */
+    private static final class Statistics {
+        private long hits;
+        private long lookups;
+    }
+}
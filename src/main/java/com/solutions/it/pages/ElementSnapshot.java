@@ -0,0 +1,109 @@
+package com.solutions.it.pages;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * State of several elements captured in a single script round trip,
+ * keyed by the names the page object gave their locators.
+ */
+public final class ElementSnapshot {
+    private static final ElementState ABSENT = new ElementState(false, false, false, "", Collections.emptyMap());
+    
+    private final Map<String, ElementState> states;
+    
+    ElementSnapshot(Map<String, ElementState> states) {
+        this.states = Collections.unmodifiableMap(new LinkedHashMap<>(states));
+    }
+    
+    /**
+     * Gets the state of one element
+     * 
+     * @param name the locator name
+     * @return the element state, absent if the name is unknown or the element was not found
+     */
+    public ElementState get(String name) {
+        return states.getOrDefault(name, ABSENT);
+    }
+    
+    public boolean isPresent(String name) {
+        return get(name).isPresent();
+    }
+    
+    public boolean isDisplayed(String name) {
+        return get(name).isDisplayed();
+    }
+    
+    public String getText(String name) {
+        return get(name).getText();
+    }
+    
+    /**
+     * Checks whether every named element is displayed
+     * 
+     * @param names the locator names
+     * @return true if all of them are displayed
+     */
+    public boolean allDisplayed(String... names) {
+        for (String name : names) {
+            if (!isDisplayed(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public Map<String, ElementState> asMap() {
+        return states;
+    }
+    
+    @Override
+    public String toString() {
+        return states.toString();
+    }
+    
+    /**
+     * Presence, visibility, text and requested attributes of one element
+     */
+    public static final class ElementState {
+        private final boolean present;
+        private final boolean displayed;
+        private final boolean enabled;
+        private final String text;
+        private final Map<String, String> attributes;
+        
+        ElementState(boolean present, boolean displayed, boolean enabled, String text, Map<String, String> attributes) {
+            this.present = present;
+            this.displayed = displayed;
+            this.enabled = enabled;
+            this.text = text;
+            this.attributes = Collections.unmodifiableMap(attributes);
+        }
+        
+        public boolean isPresent() {
+            return present;
+        }
+        
+        public boolean isDisplayed() {
+            return displayed;
+        }
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public String getText() {
+            return text;
+        }
+        
+        public String getAttribute(String name) {
+            return attributes.get(name);
+        }
+        
+        @Override
+        public String toString() {
+            return present ? "{displayed=" + displayed + ", enabled=" + enabled + ", text='" + text + "'}" : "{absent}";
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.solutions.it.pages;
+
+/**
+ * How {@link BasePage#fillForm} enters values into form fields
+ */
+public enum FillMode {
+    /**
+     * Sets every value in one script call and fires input and change events
+     */
+    SCRIPT,
+    
+    /**
+     * Clears and types each field key by key, for tests that exercise keyboard handling
+     */
+    TYPE
+}
@@ -1,17 +1,29 @@
 package com.solutions.it.pages;
 
 import com.solutions.it.utils.Log;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class HomePage extends BasePage {
+    private static final String USER_DROPDOWN_XPATH = "//span[@class='oxd-userdropdown-tab']";
+    private static final String DASHBOARD_TITLE_XPATH = "//h6[contains(@class,'oxd-topbar-header-breadcrumb')]";
+    private static final Map<String, By> LOADED_STATE = new LinkedHashMap<>();
+    
+    static {
+        LOADED_STATE.put("userDropdown", By.xpath(USER_DROPDOWN_XPATH));
+        LOADED_STATE.put("dashboardTitle", By.xpath(DASHBOARD_TITLE_XPATH));
+    }
     
-    @FindBy(xpath = "//span[@class='oxd-userdropdown-tab']")
+    @FindBy(xpath = USER_DROPDOWN_XPATH)
     private WebElement userDropdown;
     
-    @FindBy(xpath = "//h6[contains(@class,'oxd-topbar-header-breadcrumb')]")
+    @FindBy(xpath = DASHBOARD_TITLE_XPATH)
     private WebElement dashboardTitle;
     
     @FindBy(xpath = "//a[contains(@href, 'viewMyDetails')]")
@@ -41,27 +53,23 @@ public class HomePage extends BasePage {
             wait.until(ExpectedConditions.visibilityOf(userDropdown));
             Log.info("Home page loaded successfully");
         } catch (Exception e) {
-            Log.error("Error while waiting for Home page to load: " + e.getMessage());
+            Log.error("Error while waiting for Home page to load: {}", e.getMessage());
         }
     }
     
     public boolean isLoaded() {
         try {
-            // Wait for user dropdown to be visible with a shorter timeout
-            boolean userDropdownVisible = isElementDisplayed(userDropdown);
-            boolean dashboardTitleVisible = false;
-            
-            // Only check dashboard title if user dropdown is visible
-            if (userDropdownVisible) {
-                dashboardTitleVisible = isElementDisplayed(dashboardTitle);
-            }
+            // Both elements are checked together in one round trip per poll, with the shorter timeout
+            ElementSnapshot snapshot = waitForSnapshot(LOADED_STATE, shortTimeout);
+            boolean userDropdownVisible = snapshot.isDisplayed("userDropdown");
+            boolean dashboardTitleVisible = snapshot.isDisplayed("dashboardTitle");
             
-            Log.info("HomePage elements status - userDropdown: " + userDropdownVisible + 
-                    ", dashboardTitle: " + dashboardTitleVisible);
+            Log.info("HomePage elements status - userDropdown: {}, dashboardTitle: {}",
+                    userDropdownVisible, dashboardTitleVisible);
             
             return userDropdownVisible;
         } catch (Exception e) {
-            Log.error("Error checking if home page is loaded: " + e.getMessage());
+            Log.error("Error checking if home page is loaded: {}", e.getMessage());
             return false;
         }
     }
@@ -71,7 +79,7 @@ public class HomePage extends BasePage {
             waitForElementToBeVisible(dashboardTitle);
             return getText(dashboardTitle);
         } catch (Exception e) {
-            Log.error("Error getting dashboard title: " + e.getMessage());
+            Log.error("Error getting dashboard title: {}", e.getMessage());
             return "";
         }
     }
@@ -79,24 +87,28 @@ public class HomePage extends BasePage {
     public HomePage clickOnPIM() {
         Log.info("Clicking on PIM link");
         click(pimLink);
+        waitForPageLoad();
         return this;
     }
     
     public HomePage clickOnMyInfo() {
         Log.info("Clicking on My Info link");
         click(myInfoLink);
+        waitForPageLoad();
         return this;
     }
     
     public HomePage clickOnLeave() {
         Log.info("Clicking on Leave link");
         click(leaveLink);
+        waitForPageLoad();
         return this;
     }
     
     public HomePage clickOnAdmin() {
         Log.info("Clicking on Admin link");
         click(adminLink);
+        waitForPageLoad();
         return this;
     }
     
@@ -1,16 +1,22 @@
 package com.solutions.it.pages;
 
 import com.solutions.it.utils.Log;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class LoginPage extends BasePage {
+    private static final String USERNAME_NAME = "username";
+    private static final String PASSWORD_NAME = "password";
     
-    @FindBy(name = "username")
+    @FindBy(name = USERNAME_NAME)
     private WebElement usernameInput;
     
-    @FindBy(name = "password")
+    @FindBy(name = PASSWORD_NAME)
     private WebElement passwordInput;
     
     @FindBy(xpath = "//button[@type='submit']")
@@ -32,7 +38,7 @@ public class LoginPage extends BasePage {
     }
     
     public LoginPage enterUsername(String username) {
-        Log.info("Entering username: " + username);
+        Log.info("Entering username: {}", username);
         sendKeys(usernameInput, username);
         return this;
     }
@@ -57,8 +63,15 @@ public class LoginPage extends BasePage {
     }
     
     public HomePage login(String username, String password) {
-        enterUsername(username);
-        enterPassword(password);
+        return login(username, password, fillMode);
+    }
+    
+    public HomePage login(String username, String password, FillMode mode) {
+        Log.info("Logging in as: {}", username);
+        Map<By, String> credentials = new LinkedHashMap<>();
+        credentials.put(By.name(USERNAME_NAME), username);
+        credentials.put(By.name(PASSWORD_NAME), password);
+        fillForm(credentials, mode);
         return clickLoginButton();
     }
 } 
\ No newline at end of file
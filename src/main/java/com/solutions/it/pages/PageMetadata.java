@@ -0,0 +1,168 @@
+package com.solutions.it.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Element bindings of a page-object class, worked out once per class: which fields carry
+ * {@code @FindBy}/{@code @FindBys}/{@code @FindAll}, the {@link By} each one resolves to and a
+ * setter handle for the field. Constructing a page then only assigns a {@link CachedElement}
+ * per field instead of scanning annotations and building proxies through {@code PageFactory}
+ * every time.
+ */
+public final class PageMetadata {
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final ClassValue<PageMetadata> METADATA = new ClassValue<PageMetadata>() {
+        @Override
+        protected PageMetadata computeValue(Class<?> pageClass) {
+            return new PageMetadata(pageClass);
+        }
+    };
+    
+    private final List<Binding> bindings;
+    
+    private PageMetadata(Class<?> pageClass) {
+        List<Binding> found = new ArrayList<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Class<?> type = pageClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!isElementField(field)) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    MethodHandle setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+                    found.add(new Binding(new Annotations(field).buildBy(), setter, field.getType() == List.class));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Cannot bind " + type.getSimpleName() + "." + field.getName(), e);
+                }
+            }
+        }
+        this.bindings = Collections.unmodifiableList(found);
+    }
+    
+    /**
+     * Gets the metadata for a page-object class, computing it on first use
+     * 
+     * @param pageClass the page-object class
+     * @return the class metadata
+     */
+    public static PageMetadata of(Class<?> pageClass) {
+        return METADATA.get(pageClass);
+    }
+    
+    /**
+     * Assigns an element handle to every annotated field of the page
+     * 
+     * @param page the page instance
+     * @param context the driver or element to search from
+     * @param cache the page's element cache
+     */
+    public void bind(Object page, SearchContext context, ElementCache cache) {
+        for (Binding binding : bindings) {
+            Object value = binding.list
+                    ? new CachedElementList(context, binding.by, cache)
+                    : new CachedElement(context, binding.by, cache);
+            try {
+                binding.setter.invokeExact(page, value);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot bind element " + binding.by + " on " + page.getClass().getSimpleName(), e);
+            }
+        }
+    }
+    
+    /**
+     * Gets the number of element fields bound per page instance
+     * 
+     * @return the binding count
+     */
+    public int getBindingCount() {
+        return bindings.size();
+    }
+    
+    private static boolean isElementField(Field field) {
+        if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+            return false;
+        }
+        if (!field.isAnnotationPresent(FindBy.class) && !field.isAnnotationPresent(FindBys.class)
+                && !field.isAnnotationPresent(FindAll.class)) {
+            return false;
+        }
+        if (field.getType() == WebElement.class) {
+            return true;
+        }
+        if (field.getType() != List.class || !(field.getGenericType() instanceof ParameterizedType)) {
+            return false;
+        }
+        Type elementType = ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+        return elementType == WebElement.class;
+    }
+    
+    /**
+     * One annotated field with its precomputed locator and setter
+     */
+    private static final class Binding {
+        private final By by;
+        private final MethodHandle setter;
+        private final boolean list;
+        
+        private Binding(By by, MethodHandle setter, boolean list) {
+            this.by = by;
+            this.setter = setter;
+            this.list = list;
+        }
+    }
+    
+    /**
+     * List field that looks its elements up again on each access, like PageFactory lists
+     */
+    private static final class CachedElementList extends AbstractList<WebElement> {
+        private final SearchContext context;
+        private final By by;
+        private final ElementCache cache;
+        
+        private CachedElementList(SearchContext context, By by, ElementCache cache) {
+            this.context = context;
+            this.by = by;
+            this.cache = cache;
+        }
+        
+        @Override
+        public WebElement get(int index) {
+            return cache.findAll(context, by).get(index);
+        }
+        
+        @Override
+        public int size() {
+            return cache.findAll(context, by).size();
+        }
+        
+        @Override
+        public Iterator<WebElement> iterator() {
+            return cache.findAll(context, by).iterator();
+        }
+        
+        @Override
+        public String toString() {
+            return "Cached element list for: " + by;
+        }
+    }
+}
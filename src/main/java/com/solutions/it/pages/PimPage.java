@@ -1,20 +1,36 @@
 package com.solutions.it.pages;
 
 import com.solutions.it.utils.Log;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class PimPage extends BasePage {
+    private static final String PIM_HEADER_XPATH = "//h6[text()='PIM']";
+    private static final String ADD_EMPLOYEE_BUTTON_XPATH =
+            "//button[contains(@class, 'oxd-button--secondary') and normalize-space(text())='Add']";
+    private static final String SEARCH_PANEL_XPATH = "//div[@class='oxd-table-filter']";
+    private static final String FIRST_NAME_XPATH = "//input[@name='firstName']";
+    private static final String MIDDLE_NAME_XPATH = "//input[@name='middleName']";
+    private static final String LAST_NAME_XPATH = "//input[@name='lastName']";
+    private static final Map<String, By> LOADED_STATE = new LinkedHashMap<>();
+    
+    static {
+        LOADED_STATE.put("pimHeader", By.xpath(PIM_HEADER_XPATH));
+        LOADED_STATE.put("searchPanel", By.xpath(SEARCH_PANEL_XPATH));
+    }
 
-    @FindBy(xpath = "//h6[text()='PIM']")
+    @FindBy(xpath = PIM_HEADER_XPATH)
     private WebElement pimHeader;
     
-    @FindBy(xpath = "//button[contains(@class, 'oxd-button--secondary') and normalize-space(text())='Add']")
+    @FindBy(xpath = ADD_EMPLOYEE_BUTTON_XPATH)
     private WebElement addEmployeeButton;
     
-    @FindBy(xpath = "//div[@class='oxd-table-filter']")
+    @FindBy(xpath = SEARCH_PANEL_XPATH)
     private WebElement searchPanel;
     
     @FindBy(xpath = "//label[contains(text(), 'Employee Name')]/../..//input")
@@ -35,15 +51,12 @@ public class PimPage extends BasePage {
     @FindBy(xpath = "//h6[text()='Personal Details']")
     private WebElement personalDetailsHeader;
     
-    @FindBy(xpath = "//input[@name='firstName']")
+    @FindBy(xpath = FIRST_NAME_XPATH)
     private WebElement firstNameInput;
     
-    @FindBy(xpath = "//input[@name='lastName']")
+    @FindBy(xpath = LAST_NAME_XPATH)
     private WebElement lastNameInput;
     
-    @FindBy(xpath = "//input[@name='middleName']")
-    private WebElement middleNameInput;
-    
     @FindBy(xpath = "//h6[text()='Personal Details']/../..//button[@type='submit']")
     private WebElement saveButton;
     
@@ -54,19 +67,24 @@ public class PimPage extends BasePage {
         super(driver);
         try {
             waitForPageLoad();
-            wait.until(ExpectedConditions.visibilityOf(pimHeader));
-            Log.info("PIM page loaded successfully");
+            // Header and search panel are checked together in one round trip per poll
+            ElementSnapshot snapshot = waitForSnapshot(LOADED_STATE, wait.getDefaultTimeout());
+            if (snapshot.allDisplayed("pimHeader", "searchPanel")) {
+                Log.info("PIM page loaded successfully");
+            } else {
+                Log.error("PIM page did not finish loading: {}", snapshot);
+            }
         } catch (Exception e) {
-            Log.error("Error while waiting for PIM page to load: " + e.getMessage());
+            Log.error("Error while waiting for PIM page to load: {}", e.getMessage());
         }
     }
     
     public boolean isLoaded() {
-        return isElementDisplayed(pimHeader);
+        return waitForSnapshot(LOADED_STATE, shortTimeout).isDisplayed("pimHeader");
     }
     
     public PimPage searchEmployeeById(String id) {
-        Log.info("Searching for employee with ID: " + id);
+        Log.info("Searching for employee with ID: {}", id);
         waitForElementToBeVisible(searchPanel);
         waitForElementToBeClickable(employeeIdInput);
         employeeIdInput.clear();
@@ -77,7 +95,7 @@ public class PimPage extends BasePage {
     }
     
     public PimPage searchEmployeeByName(String name) {
-        Log.info("Searching for employee with name: " + name);
+        Log.info("Searching for employee with name: {}", name);
         waitForElementToBeVisible(searchPanel);
         waitForElementToBeClickable(employeeNameInput);
         employeeNameInput.clear();
@@ -115,22 +133,21 @@ public class PimPage extends BasePage {
     }
     
     public PimPage updateEmployeeDetails(String firstName, String middleName, String lastName) {
-        Log.info("Updating employee details: " + firstName + " " + middleName + " " + lastName);
+        return updateEmployeeDetails(firstName, middleName, lastName, fillMode);
+    }
+    
+    public PimPage updateEmployeeDetails(String firstName, String middleName, String lastName, FillMode mode) {
+        Log.info("Updating employee details: {} {} {}", firstName, middleName, lastName);
         waitForElementToBeVisible(personalDetailsHeader);
         
-        // Clear and set first name
-        firstNameInput.clear();
-        sendKeys(firstNameInput, firstName);
-        
-        // Clear and set middle name if provided
+        // Middle name is only touched if provided
+        Map<By, String> details = new LinkedHashMap<>();
+        details.put(By.xpath(FIRST_NAME_XPATH), firstName);
         if (middleName != null && !middleName.isEmpty()) {
-            middleNameInput.clear();
-            sendKeys(middleNameInput, middleName);
+            details.put(By.xpath(MIDDLE_NAME_XPATH), middleName);
         }
-        
-        // Clear and set last name
-        lastNameInput.clear();
-        sendKeys(lastNameInput, lastName);
+        details.put(By.xpath(LAST_NAME_XPATH), lastName);
+        fillForm(details, mode);
         
         // Save the changes
         click(saveButton);
@@ -138,9 +155,9 @@ public class PimPage extends BasePage {
         // Wait for success message
         try {
             waitForElementToBeVisible(toastMessage);
-            Log.info("Update message: " + getText(toastMessage));
+            Log.info("Update message: {}", getText(toastMessage));
         } catch (Exception e) {
-            Log.error("Could not find toast message: " + e.getMessage());
+            Log.error("Could not find toast message: {}", e.getMessage());
         }
         
         return this;
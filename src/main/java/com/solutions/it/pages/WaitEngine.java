@@ -0,0 +1,159 @@
+package com.solutions.it.pages;
+
+import com.solutions.it.drivers.SessionRegistry;
+import com.solutions.it.metrics.LatencyHistogram;
+import com.solutions.it.metrics.MetricsWriter;
+import com.solutions.it.metrics.PageMethodResolver;
+import com.solutions.it.utils.Log;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Single wait mechanism for page objects. Drivers run without an implicit wait, so a
+ * condition is only ever retried here: polling starts fast and backs off, each call has
+ * one timeout budget (overridable per call), and time spent waiting is recorded per
+ * page-object method.
+ */
+public class WaitEngine {
+    private static final long INITIAL_POLL_MILLIS = 25;
+    private static final long MAX_POLL_MILLIS = 500;
+    private static final double POLL_BACKOFF = 1.5;
+    private static final String REPORT_FILE = "page-waits.json";
+    private static final Map<String, LatencyHistogram> WAIT_TIMES = new ConcurrentHashMap<>();
+    
+    private final WebDriver driver;
+    private final Duration defaultTimeout;
+    
+    public WaitEngine(WebDriver driver, Duration defaultTimeout) {
+        this.driver = driver;
+        this.defaultTimeout = defaultTimeout;
+    }
+    
+    /**
+     * Waits with the default timeout until the condition returns a non-null, non-false value
+     * 
+     * @param condition the condition to evaluate, e.g. an ExpectedCondition
+     * @param <T> the condition's result type
+     * @return the condition's result
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public <T> T until(Function<? super WebDriver, T> condition) {
+        return until(condition, defaultTimeout);
+    }
+    
+    /**
+     * Waits with the given timeout until the condition returns a non-null, non-false value
+     * 
+     * @param condition the condition to evaluate, e.g. an ExpectedCondition
+     * @param timeout the timeout budget for this call
+     * @param <T> the condition's result type
+     * @return the condition's result
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public <T> T until(Function<? super WebDriver, T> condition, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long pollMillis = INITIAL_POLL_MILLIS;
+        RuntimeException lastError = null;
+        
+        try {
+            while (true) {
+                try {
+                    T value = condition.apply(driver);
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        return value;
+                    }
+                    lastError = null;
+                } catch (NotFoundException | StaleElementReferenceException | ElementNotInteractableException e) {
+                    lastError = e;
+                }
+                
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    throw new TimeoutException("Condition not met within " + timeout.toMillis() + "ms: " + condition, lastError);
+                }
+                sleep(Math.min(pollMillis, remainingMillis));
+                pollMillis = Math.min(MAX_POLL_MILLIS, (long) (pollMillis * POLL_BACKOFF));
+            }
+        } finally {
+            record(System.nanoTime() - start);
+            // Page activity keeps the session from being reaped as abandoned
+            SessionRegistry.touch(driver);
+        }
+    }
+    
+    /**
+     * Checks whether the condition is met within the given timeout without throwing
+     * 
+     * @param condition the condition to evaluate
+     * @param timeout the timeout budget for this call
+     * @return true if the condition was met in time
+     */
+    public boolean isSatisfiedWithin(Function<? super WebDriver, ?> condition, Duration timeout) {
+        try {
+            until(condition, timeout);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+    
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+    
+    /**
+     * Writes wait time per page-object method to the metrics directory and logs the top offenders
+     */
+    public static void writeReport() {
+        if (WAIT_TIMES.isEmpty()) {
+            return;
+        }
+        
+        List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<>(WAIT_TIMES.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().getTotalNanos(), a.getValue().getTotalNanos()));
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        StringBuilder summary = new StringBuilder("Wait time by page method (total ms) -");
+        for (int i = 0; i < entries.size(); i++) {
+            Map.Entry<String, LatencyHistogram> entry = entries.get(i);
+            report.put(entry.getKey(), entry.getValue().summary());
+            if (i < 5) {
+                summary.append(' ').append(entry.getKey()).append('=')
+                        .append(entry.getValue().getTotalNanos() / 1_000_000);
+            }
+        }
+        
+        Path file = MetricsWriter.write(REPORT_FILE, report);
+        Log.info(summary.toString());
+        if (file != null) {
+            Log.info("Page wait metrics written to: {}", file);
+        }
+    }
+    
+    private static void record(long nanos) {
+        WAIT_TIMES.computeIfAbsent(PageMethodResolver.current(), key -> new LatencyHistogram()).record(nanos);
+    }
+    
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
+    }
+}
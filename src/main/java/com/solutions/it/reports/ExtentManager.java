@@ -0,0 +1,204 @@
+package com.solutions.it.reports;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.solutions.it.config.FrameworkConfig;
+import com.solutions.it.utils.Log;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Owns the Extent report for the run. Tests are built in memory while they run; when a test ends
+ * it is appended to a {@link ReportEventLog} and dropped from memory, so a test costs one line of
+ * I/O however many tests came before it. The HTML report is rendered from the log once, at suite
+ * end or on demand, instead of being rewritten on every flush.
+ */
+public final class ExtentManager {
+    private static final String REPORT_DIRECTORY = FrameworkConfig.getInstance()
+            .getProperty("report.path", "./test-output/reports/").trim();
+    private static final String REPORT_NAME = "ExtentReport_" + new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+    private static final Path EVENTS_FILE = Paths.get(REPORT_DIRECTORY, REPORT_NAME + ".events.jsonl");
+    private static final Path HTML_FILE = Paths.get(REPORT_DIRECTORY, REPORT_NAME + ".html");
+
+    private static final ExtentReports EXTENT = new ExtentReports();
+    private static final Map<ExtentTest, Long> OPEN_TESTS = new ConcurrentHashMap<>();
+    // Ended tests stay addressable for screenshots that finish writing after the test ended
+    private static final Map<ExtentTest, Long> ENDED_TESTS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final AtomicLong TEST_IDS = new AtomicLong();
+    private static final Object EVENT_LOG_LOCK = new Object();
+    private static volatile ReportEventLog eventLog;
+    private static long renderedEvents = -1;
+    private static String lastReportPath;
+
+    private ExtentManager() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Gets the in-memory report holding the tests that are still running
+     *
+     * @return the report
+     */
+    public static ExtentReports getInstance() {
+        return EXTENT;
+    }
+
+    /**
+     * Creates a test that is written to the event log when {@link #endTest(ExtentTest)} is called
+     *
+     * @param name the test name
+     * @param description the test description
+     * @return the test
+     */
+    public static ExtentTest createTest(String name, String description) {
+        ExtentTest test = EXTENT.createTest(name, description);
+        OPEN_TESTS.put(test, TEST_IDS.incrementAndGet());
+        return test;
+    }
+
+    /**
+     * Appends a finished test to the event log and releases it from memory.
+     * Ending a test twice, or a test not created here, does nothing.
+     *
+     * @param test the finished test
+     */
+    public static void endTest(ExtentTest test) {
+        if (test == null) {
+            return;
+        }
+        Map<String, Object> event;
+        synchronized (test) {
+            Long id = OPEN_TESTS.remove(test);
+            if (id == null) {
+                return;
+            }
+            event = ReportRenderer.toEvent(id, test.getModel());
+            ENDED_TESTS.put(test, id);
+        }
+        ReportEventLog log = eventLog();
+        log.append(event);
+        // One line per test; flushing it keeps the log complete if the JVM dies mid-run
+        log.flush();
+        EXTENT.removeTest(test);
+    }
+
+    /**
+     * Attaches a screenshot to a test, whether it is still running or has already been written
+     *
+     * @param test the test
+     * @param path the screenshot file
+     * @param title the screenshot title
+     */
+    public static void attachScreenshot(ExtentTest test, String path, String title) {
+        Long endedId;
+        synchronized (test) {
+            if (OPEN_TESTS.containsKey(test)) {
+                test.addScreenCaptureFromPath(path, title);
+                return;
+            }
+            endedId = ENDED_TESTS.get(test);
+        }
+        if (endedId == null) {
+            Log.warn("Screenshot {} belongs to a test that is not in the report", path);
+            return;
+        }
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put(ReportEventLog.TYPE, ReportEventLog.TYPE_MEDIA);
+        event.put("id", endedId);
+        event.put("path", path);
+        event.put("title", title);
+        ReportEventLog log = eventLog();
+        log.append(event);
+        log.flush();
+    }
+
+    /**
+     * Pushes the tests ended so far to disk. Ended tests are already flushed one by one; this
+     * remains for callers that want an explicit checkpoint. Cheap: nothing is rendered.
+     */
+    public static void flushReport() {
+        ReportEventLog log = eventLog;
+        if (log != null) {
+            log.flush();
+        }
+    }
+
+    /**
+     * Ends any test still open and renders the HTML report from the event log.
+     * Rendering is skipped when nothing was appended since the last render.
+     *
+     * @return the HTML report path, or null if no test was reported
+     */
+    public static synchronized String renderReport() {
+        for (ExtentTest test : new ArrayList<>(OPEN_TESTS.keySet())) {
+            endTest(test);
+        }
+        ReportEventLog log = eventLog;
+        if (log == null) {
+            return null;
+        }
+        log.flush();
+        long events = log.getEventCount();
+        if (events == renderedEvents) {
+            return lastReportPath;
+        }
+        try {
+            long start = System.nanoTime();
+            int tests = ReportRenderer.render(EVENTS_FILE, HTML_FILE);
+            renderedEvents = events;
+            lastReportPath = HTML_FILE.toAbsolutePath().toString();
+            Log.info("Rendered {} tests to {} in {} ms", tests, lastReportPath, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            Log.error("Failed to render report from {}: {}", EVENTS_FILE, e.getMessage(), e);
+        }
+        return lastReportPath;
+    }
+
+    /**
+     * Gets the path of the last rendered HTML report
+     *
+     * @return the report path, or null if no report was rendered yet
+     */
+    public static synchronized String getLastReportPath() {
+        return lastReportPath;
+    }
+
+    /**
+     * Gets the event log the report is rendered from
+     *
+     * @return the event log path
+     */
+    public static Path getEventsFile() {
+        return EVENTS_FILE;
+    }
+
+    private static ReportEventLog eventLog() {
+        ReportEventLog log = eventLog;
+        if (log == null) {
+            synchronized (EVENT_LOG_LOCK) {
+                log = eventLog;
+                if (log == null) {
+                    try {
+                        log = new ReportEventLog(EVENTS_FILE);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to open report event log " + EVENTS_FILE, e);
+                    }
+                    eventLog = log;
+                }
+            }
+        }
+        return log;
+    }
+}
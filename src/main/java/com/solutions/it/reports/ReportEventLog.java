@@ -0,0 +1,112 @@
+package com.solutions.it.reports;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Append-only report store: one JSON event per line. Finished tests and late attachments are
+ * appended as they happen, so writing costs the same for the first and the ten-thousandth test.
+ * Events that were {@link #flush() flushed} survive a crashed run; {@link ExtentManager} flushes
+ * after each one. The HTML report is rendered from it by {@link ReportRenderer}.
+ */
+public class ReportEventLog implements AutoCloseable {
+    public static final String TYPE = "type";
+    public static final String TYPE_TEST = "test";
+    public static final String TYPE_MEDIA = "media";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> EVENT_TYPE = new TypeReference<Map<String, Object>>() { };
+
+    private final Path file;
+    private final BufferedWriter writer;
+    private long events;
+
+    /**
+     * Opens the log for appending, creating it if needed
+     *
+     * @param file the event log file
+     * @throws IOException if the file cannot be opened
+     */
+    public ReportEventLog(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Appends one event. It reaches disk once the buffer fills or on {@link #flush()}.
+     *
+     * @param event the event, serialized as a single JSON line
+     */
+    public synchronized void append(Map<String, Object> event) {
+        try {
+            writer.write(OBJECT_MAPPER.writeValueAsString(event));
+            writer.newLine();
+            events++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append report event to " + file, e);
+        }
+    }
+
+    /**
+     * Pushes appended events to disk
+     */
+    public synchronized void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to flush report events to " + file, e);
+        }
+    }
+
+    /**
+     * Gets the number of events appended through this instance
+     *
+     * @return the event count
+     */
+    public synchronized long getEventCount() {
+        return events;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * Streams every event of a log file to the consumer in append order
+     *
+     * @param file the event log file
+     * @param consumer receives each event
+     * @throws IOException if the file cannot be read
+     */
+    public static void forEachEvent(Path file, Consumer<Map<String, Object>> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    consumer.accept(OBJECT_MAPPER.readValue(line, EVENT_TYPE));
+                }
+            }
+        }
+    }
+}
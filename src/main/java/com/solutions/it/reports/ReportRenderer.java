@@ -0,0 +1,226 @@
+package com.solutions.it.reports;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.model.Category;
+import com.aventstack.extentreports.model.ExceptionInfo;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Media;
+import com.aventstack.extentreports.model.Test;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts finished tests to report events and renders a report event log to HTML in a single
+ * pass. Rendering can run at suite end, on demand mid-run, or offline for a log left behind by
+ * a crashed run:
+ * <pre>
+ * java -cp ... com.solutions.it.reports.ReportRenderer events.jsonl [report.html]
+ * </pre>
+ */
+public final class ReportRenderer {
+    private static final String CONFIG_FILE = "src/main/resources/extent-config.xml";
+
+    private ReportRenderer() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Renders an event log to HTML
+     *
+     * @param args the event log path and optionally the HTML path
+     * @throws IOException if the log cannot be read or the report cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: ReportRenderer <events.jsonl> [report.html]");
+            System.exit(2);
+        }
+        Path events = Paths.get(args[0]);
+        Path html = args.length > 1 ? Paths.get(args[1]) : htmlPathFor(events);
+        int tests = render(events, html);
+        System.out.println("Rendered " + tests + " tests to " + html);
+    }
+
+    /**
+     * Renders every test in the event log into one HTML report
+     *
+     * @param events the event log
+     * @param html the report file to write
+     * @return the number of top-level tests rendered
+     * @throws IOException if the log cannot be read or the report cannot be written
+     */
+    public static int render(Path events, Path html) throws IOException {
+        ExtentSparkReporter spark = new ExtentSparkReporter(html.toFile());
+        if (new File(CONFIG_FILE).exists()) {
+            spark.loadXMLConfig(CONFIG_FILE);
+        }
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(spark);
+
+        Map<Long, ExtentTest> tests = new HashMap<>();
+        int[] count = new int[1];
+        ReportEventLog.forEachEvent(events, event -> {
+            Object type = event.get(ReportEventLog.TYPE);
+            if (ReportEventLog.TYPE_TEST.equals(type)) {
+                tests.put(asLong(event.get("id")), replay(extent, null, event));
+                count[0]++;
+            } else if (ReportEventLog.TYPE_MEDIA.equals(type)) {
+                ExtentTest test = tests.get(asLong(event.get("id")));
+                if (test != null) {
+                    test.addScreenCaptureFromPath((String) event.get("path"), (String) event.get("title"));
+                }
+            }
+        });
+        extent.flush();
+        return count[0];
+    }
+
+    /**
+     * Gets the default HTML path next to an event log
+     *
+     * @param events the event log
+     * @return the HTML report path
+     */
+    public static Path htmlPathFor(Path events) {
+        String name = events.getFileName().toString().replaceAll("\\.events\\.jsonl$|\\.jsonl$", "");
+        return events.resolveSibling(name + ".html");
+    }
+
+    /**
+     * Converts a finished test and its nodes to a report event
+     *
+     * @param id the test's id in the log, referenced by later attachment events
+     * @param test the test model
+     * @return the event
+     */
+    static Map<String, Object> toEvent(long id, Test test) {
+        Map<String, Object> event = describe(test);
+        event.put(ReportEventLog.TYPE, ReportEventLog.TYPE_TEST);
+        event.put("id", id);
+        return event;
+    }
+
+    private static Map<String, Object> describe(Test test) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", test.getName());
+        event.put("description", test.getDescription());
+        event.put("status", test.getStatus().name());
+        event.put("start", time(test.getStartTime()));
+        event.put("end", time(test.getEndTime()));
+        List<String> categories = new ArrayList<>();
+        for (Category category : test.getCategorySet()) {
+            categories.add(category.getName());
+        }
+        event.put("categories", categories);
+
+        List<Map<String, Object>> logs = new ArrayList<>();
+        for (Log log : test.getLogs()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("status", log.getStatus().name());
+            entry.put("details", log.getDetails());
+            entry.put("timestamp", time(log.getTimestamp()));
+            if (log.getMedia() != null) {
+                entry.put("media", media(log.getMedia()));
+            }
+            if (log.getException() != null) {
+                Map<String, Object> exception = new LinkedHashMap<>();
+                exception.put("name", log.getException().getName());
+                exception.put("stackTrace", log.getException().getStackTrace());
+                entry.put("exception", exception);
+            }
+            logs.add(entry);
+        }
+        event.put("logs", logs);
+
+        List<Map<String, Object>> media = new ArrayList<>();
+        for (Media item : test.getMedia()) {
+            media.add(media(item));
+        }
+        event.put("media", media);
+
+        List<Map<String, Object>> children = new ArrayList<>();
+        for (Test child : test.getChildren()) {
+            children.add(describe(child));
+        }
+        event.put("children", children);
+        return event;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ExtentTest replay(ExtentReports extent, ExtentTest parent, Map<String, Object> event) {
+        String name = (String) event.get("name");
+        String description = (String) event.get("description");
+        ExtentTest test = parent == null ? extent.createTest(name, description) : parent.createNode(name, description);
+
+        List<String> categories = (List<String>) event.get("categories");
+        if (categories != null && !categories.isEmpty()) {
+            test.assignCategory(categories.toArray(new String[0]));
+        }
+
+        for (Map<String, Object> entry : (List<Map<String, Object>>) event.getOrDefault("logs", new ArrayList<>())) {
+            Status status = Status.valueOf((String) entry.get("status"));
+            String details = entry.get("details") != null ? (String) entry.get("details") : "";
+            Map<String, Object> media = (Map<String, Object>) entry.get("media");
+            if (media != null) {
+                test.log(status, details, MediaEntityBuilder.createScreenCaptureFromPath(
+                        (String) media.get("path"), (String) media.get("title")).build());
+            } else {
+                test.log(status, details);
+            }
+            List<Log> logs = test.getModel().getLogs();
+            Log log = logs.get(logs.size() - 1);
+            if (entry.get("timestamp") != null) {
+                log.setTimestamp(new Date(asLong(entry.get("timestamp"))));
+            }
+            Map<String, Object> exception = (Map<String, Object>) entry.get("exception");
+            if (exception != null) {
+                ExceptionInfo info = new ExceptionInfo(null, (String) exception.get("name"), (String) exception.get("stackTrace"));
+                log.setException(info);
+                test.getModel().getExceptions().add(info);
+            }
+        }
+
+        for (Map<String, Object> media : (List<Map<String, Object>>) event.getOrDefault("media", new ArrayList<>())) {
+            test.addScreenCaptureFromPath((String) media.get("path"), (String) media.get("title"));
+        }
+        for (Map<String, Object> child : (List<Map<String, Object>>) event.getOrDefault("children", new ArrayList<>())) {
+            replay(extent, test, child);
+        }
+
+        if (event.get("start") != null) {
+            test.getModel().setStartTime(new Date(asLong(event.get("start"))));
+        }
+        if (event.get("end") != null) {
+            test.getModel().setEndTime(new Date(asLong(event.get("end"))));
+        }
+        return test;
+    }
+
+    private static Map<String, Object> media(Media media) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("path", media.getPath());
+        entry.put("title", media.getTitle());
+        return entry;
+    }
+
+    private static Long time(Date date) {
+        return date != null ? date.getTime() : null;
+    }
+
+    private static long asLong(Object value) {
+        return ((Number) value).longValue();
+    }
+}
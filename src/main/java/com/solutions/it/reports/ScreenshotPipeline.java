@@ -0,0 +1,400 @@
+package com.solutions.it.reports;
+
+import com.solutions.it.config.FrameworkConfig;
+import com.solutions.it.metrics.LatencyHistogram;
+import com.solutions.it.metrics.MetricsWriter;
+import com.solutions.it.utils.Log;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Writes failure screenshots off the test thread. Test threads hand over the raw PNG bytes;
+ * background writers compress, optionally downscale and thumbnail them, skip captures whose
+ * content was already written, and report the file back so it can be attached to the report.
+ * <p>
+ * The queue is bounded. What happens when it is full is configurable: block the test thread
+ * for a while, drop the new or the oldest capture, or write on the test thread.
+ */
+public final class ScreenshotPipeline {
+    private static final String REPORT_FILE = "screenshots.json";
+    private static final FrameworkConfig CONFIG = FrameworkConfig.getInstance();
+    private static final Path DIRECTORY = Paths.get(CONFIG.getScreenshotPath().trim());
+    private static final int CAPACITY = Integer.parseInt(CONFIG.getProperty("screenshot.queue.capacity", "16").trim());
+    private static final int WRITER_THREADS = Integer.parseInt(CONFIG.getProperty("screenshot.writer.threads", "1").trim());
+    private static final Backpressure BACKPRESSURE = Backpressure.valueOf(
+            CONFIG.getProperty("screenshot.backpressure", "block").trim().toUpperCase(Locale.ENGLISH));
+    private static final long BLOCK_TIMEOUT_MILLIS = Long.parseLong(CONFIG.getProperty("screenshot.block.timeout.ms", "2000").trim());
+    private static final String FORMAT = CONFIG.getProperty("screenshot.format", "jpg").trim().toLowerCase(Locale.ENGLISH);
+    private static final float JPEG_QUALITY = Float.parseFloat(CONFIG.getProperty("screenshot.jpeg.quality", "0.85").trim());
+    private static final int MAX_WIDTH = Integer.parseInt(CONFIG.getProperty("screenshot.max.width", "0").trim());
+    private static final int THUMBNAIL_WIDTH = Integer.parseInt(CONFIG.getProperty("screenshot.thumbnail.width", "0").trim());
+
+    private static final BlockingQueue<Capture> QUEUE = new ArrayBlockingQueue<>(CAPACITY);
+    private static final Map<String, Path> WRITTEN_BY_HASH = new ConcurrentHashMap<>();
+    private static final AtomicInteger PENDING = new AtomicInteger();
+    private static final AtomicInteger MAX_QUEUE_DEPTH = new AtomicInteger();
+    private static final AtomicLong QUEUE_DEPTH_TOTAL = new AtomicLong();
+    private static final AtomicLong SUBMITTED = new AtomicLong();
+    private static final AtomicLong WRITTEN = new AtomicLong();
+    private static final AtomicLong DEDUPLICATED = new AtomicLong();
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final AtomicLong WRITTEN_BY_CALLER = new AtomicLong();
+    private static final AtomicLong FAILED = new AtomicLong();
+    private static final AtomicLong BYTES_CAPTURED = new AtomicLong();
+    private static final AtomicLong BYTES_WRITTEN = new AtomicLong();
+    private static final LatencyHistogram ENQUEUE_TIMES = new LatencyHistogram();
+    private static final LatencyHistogram PROCESSING_TIMES = new LatencyHistogram();
+    private static final Object DRAINED = new Object();
+    private static List<Thread> writers;
+
+    /**
+     * What a test thread does when the writer queue is full
+     */
+    public enum Backpressure {
+        /** Wait up to screenshot.block.timeout.ms for space, then drop the capture */
+        BLOCK,
+        /** Drop the new capture */
+        DROP_NEWEST,
+        /** Drop the oldest queued capture to make room */
+        DROP_OLDEST,
+        /** Write the capture on the test thread */
+        CALLER_RUNS
+    }
+
+    private ScreenshotPipeline() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Hands a screenshot to the background writers
+     *
+     * @param name the capture name, typically the test method name
+     * @param png the raw PNG bytes from the driver
+     * @param onWritten called with the written file once it is on disk, e.g. to attach it to the report
+     */
+    public static void submit(String name, byte[] png, Consumer<Path> onWritten) {
+        startWriters();
+        Capture capture = new Capture(name, png, onWritten);
+        SUBMITTED.incrementAndGet();
+        BYTES_CAPTURED.addAndGet(png.length);
+        PENDING.incrementAndGet();
+
+        long start = System.nanoTime();
+        boolean queued = enqueue(capture);
+        ENQUEUE_TIMES.record(System.nanoTime() - start);
+        if (!queued) {
+            return;
+        }
+        int depth = QUEUE.size();
+        QUEUE_DEPTH_TOTAL.addAndGet(depth);
+        MAX_QUEUE_DEPTH.accumulateAndGet(depth, Math::max);
+    }
+
+    /**
+     * Waits until every submitted screenshot has been written or dropped
+     *
+     * @param timeout the maximum time to wait
+     * @return true if the pipeline drained within the timeout
+     */
+    public static boolean awaitCompletion(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (DRAINED) {
+            while (PENDING.get() > 0) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                try {
+                    DRAINED.wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Drains the queue, stops the writers and writes the pipeline metrics. Called once at suite end.
+     */
+    public static void shutdown() {
+        if (!awaitCompletion(Duration.ofSeconds(30))) {
+            Log.warn("Screenshot pipeline still had {} captures pending at shutdown", PENDING.get());
+        }
+        synchronized (ScreenshotPipeline.class) {
+            if (writers != null) {
+                writers.forEach(Thread::interrupt);
+                writers = null;
+            }
+        }
+        writeReport();
+    }
+
+    private static boolean enqueue(Capture capture) {
+        switch (BACKPRESSURE) {
+            case DROP_NEWEST:
+                if (QUEUE.offer(capture)) {
+                    return true;
+                }
+                drop(capture, "queue full");
+                return false;
+            case DROP_OLDEST:
+                while (!QUEUE.offer(capture)) {
+                    Capture oldest = QUEUE.poll();
+                    if (oldest != null) {
+                        drop(oldest, "evicted by a newer capture");
+                    }
+                }
+                return true;
+            case CALLER_RUNS:
+                if (QUEUE.offer(capture)) {
+                    return true;
+                }
+                WRITTEN_BY_CALLER.incrementAndGet();
+                process(capture);
+                return false;
+            case BLOCK:
+            default:
+                try {
+                    if (QUEUE.offer(capture, BLOCK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                    drop(capture, "queue still full after " + BLOCK_TIMEOUT_MILLIS + "ms");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop(capture, "interrupted while waiting for queue space");
+                }
+                return false;
+        }
+    }
+
+    private static void drop(Capture capture, String reason) {
+        DROPPED.incrementAndGet();
+        Log.warn("Dropped screenshot for {}: {}", capture.name, reason);
+        completed();
+    }
+
+    private static synchronized void startWriters() {
+        if (writers != null) {
+            return;
+        }
+        writers = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, WRITER_THREADS); i++) {
+            Thread writer = new Thread(ScreenshotPipeline::drainQueue, "screenshot-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    private static void drainQueue() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                process(QUEUE.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static void process(Capture capture) {
+        long start = System.nanoTime();
+        try {
+            String hash = sha256(capture.png);
+            boolean[] fresh = new boolean[1];
+            Path file = WRITTEN_BY_HASH.computeIfAbsent(hash, key -> {
+                fresh[0] = true;
+                return write(capture, key);
+            });
+            if (fresh[0]) {
+                WRITTEN.incrementAndGet();
+            } else {
+                DEDUPLICATED.incrementAndGet();
+            }
+            Log.info(fresh[0] ? "Screenshot captured: {}" : "Screenshot identical to earlier capture: {}", file);
+            capture.onWritten.accept(file);
+        } catch (RuntimeException e) {
+            FAILED.incrementAndGet();
+            Log.error("Failed to write screenshot for {}: {}", capture.name, e.getMessage(), e);
+        } finally {
+            PROCESSING_TIMES.record(System.nanoTime() - start);
+            completed();
+        }
+    }
+
+    private static void completed() {
+        if (PENDING.decrementAndGet() == 0) {
+            synchronized (DRAINED) {
+                DRAINED.notifyAll();
+            }
+        }
+    }
+
+    private static Path write(Capture capture, String hash) {
+        try {
+            Files.createDirectories(DIRECTORY);
+            String baseName = capture.name.replaceAll("[^A-Za-z0-9._-]", "_") + "_" + hash.substring(0, 12);
+            Path file = DIRECTORY.resolve(baseName + "." + FORMAT);
+            if ("png".equals(FORMAT) && MAX_WIDTH <= 0 && THUMBNAIL_WIDTH <= 0) {
+                // Nothing to transform, keep the driver's bytes as they are
+                writeAtomically(file, capture.png);
+                return file;
+            }
+
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(capture.png));
+            if (image == null) {
+                throw new IOException("Screenshot is not a readable image");
+            }
+            writeAtomically(file, encode(scale(image, MAX_WIDTH), FORMAT));
+            if (THUMBNAIL_WIDTH > 0) {
+                writeAtomically(DIRECTORY.resolve(baseName + "_thumb.jpg"), encode(scale(image, THUMBNAIL_WIDTH), "jpg"));
+            }
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeAtomically(Path file, byte[] bytes) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        BYTES_WRITTEN.addAndGet(bytes.length);
+    }
+
+    private static BufferedImage scale(BufferedImage image, int maxWidth) {
+        if (maxWidth <= 0 || image.getWidth() <= maxWidth) {
+            return image;
+        }
+        int height = Math.max(1, image.getHeight() * maxWidth / image.getWidth());
+        BufferedImage scaled = new BufferedImage(maxWidth, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, maxWidth, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (!"jpg".equals(format) && !"jpeg".equals(format)) {
+            ImageIO.write(image, format, bytes);
+            return bytes.toByteArray();
+        }
+
+        // JPEG has no alpha channel, so flatten first
+        BufferedImage rgb = image;
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = rgb.createGraphics();
+            try {
+                graphics.drawImage(image, 0, 0, null);
+            } finally {
+                graphics.dispose();
+            }
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void writeReport() {
+        long submitted = SUBMITTED.get();
+        if (submitted == 0) {
+            return;
+        }
+        long queued = submitted - DROPPED.get() - WRITTEN_BY_CALLER.get();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("backpressure", BACKPRESSURE.name());
+        report.put("queueCapacity", CAPACITY);
+        report.put("submitted", submitted);
+        report.put("written", WRITTEN.get());
+        report.put("deduplicated", DEDUPLICATED.get());
+        report.put("dropped", DROPPED.get());
+        report.put("writtenOnTestThread", WRITTEN_BY_CALLER.get());
+        report.put("failed", FAILED.get());
+        report.put("maxQueueDepth", MAX_QUEUE_DEPTH.get());
+        report.put("meanQueueDepth", queued > 0 ? Math.round(QUEUE_DEPTH_TOTAL.get() * 100.0 / queued) / 100.0 : 0);
+        report.put("bytesCaptured", BYTES_CAPTURED.get());
+        report.put("bytesWritten", BYTES_WRITTEN.get());
+        report.put("testThreadHandoff", ENQUEUE_TIMES.summary());
+        report.put("processing", PROCESSING_TIMES.summary());
+        Path file = MetricsWriter.write(REPORT_FILE, report);
+
+        Log.info("Screenshots - submitted: {}, written: {}, deduplicated: {}, dropped: {}, max queue depth: {}, "
+                + "bytes captured/written: {}/{}", submitted, WRITTEN.get(), DEDUPLICATED.get(), DROPPED.get(),
+                MAX_QUEUE_DEPTH.get(), BYTES_CAPTURED.get(), BYTES_WRITTEN.get());
+        if (file != null) {
+            Log.info("Screenshot metrics written to: {}", file);
+        }
+    }
+
+    /**
+     * One screenshot waiting to be written
+     */
+    private static final class Capture {
+        private final String name;
+        private final byte[] png;
+        private final Consumer<Path> onWritten;
+
+        private Capture(String name, byte[] png, Consumer<Path> onWritten) {
+            this.name = name;
+            this.png = png;
+            this.onWritten = onWritten;
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.solutions.it.tools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solutions.it.utils.Log;
+import org.openqa.selenium.support.FindBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Build-time check of the {@code @FindBy} locators in the page objects.
+ * Flags XPath patterns that are slow to evaluate or fragile (text predicates, parent hops,
+ * wildcard and repeated descendant searches) and, where the XPath maps onto CSS one to one,
+ * emits the equivalent CSS selector.
+ * <p>
+ * Run with {@code mvn -Plocator-analysis process-classes}; the report is written to
+ * target/locator-analysis.json.
+ */
+public final class LocatorAnalyzer {
+    public static final String PAGES_PACKAGE = "com.solutions.it.pages";
+    private static final String DEFAULT_REPORT = "target/locator-analysis.json";
+    private static final String VALUE = "\\s*(?:'([^']*)'|\"([^\"]*)\")\\s*";
+    private static final Pattern ATTRIBUTE_EQUALS = Pattern.compile("^@([\\w-]+)\\s*=" + VALUE + "$");
+    private static final Pattern ATTRIBUTE_CONTAINS = Pattern.compile("^contains\\(\\s*@([\\w-]+)\\s*," + VALUE + "\\)$");
+    private static final Pattern ATTRIBUTE_STARTS_WITH = Pattern.compile("^starts-with\\(\\s*@([\\w-]+)\\s*," + VALUE + "\\)$");
+    private static final Pattern ATTRIBUTE_PRESENT = Pattern.compile("^@([\\w-]+)$");
+    private static final Pattern POSITION = Pattern.compile("^(\\d+)$");
+    private static final Pattern CSS_IDENTIFIER = Pattern.compile("^[A-Za-z][\\w-]*$");
+    private static final Pattern STEP_NAME = Pattern.compile("^(\\*|[A-Za-z][\\w-]*)$");
+
+    private LocatorAnalyzer() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Analyzes every page object and writes the report
+     *
+     * @param args optional report path, optionally followed by --fail-on-issues
+     */
+    public static void main(String[] args) throws IOException {
+        Path report = Paths.get(args.length > 0 && !args[0].startsWith("--") ? args[0] : DEFAULT_REPORT);
+        boolean failOnIssues = List.of(args).contains("--fail-on-issues");
+
+        List<Finding> findings = analyzePackage(PAGES_PACKAGE);
+        int flagged = 0;
+        for (Finding finding : findings) {
+            if (finding.getIssues().isEmpty()) {
+                continue;
+            }
+            flagged++;
+            Log.warn("{}.{} {} - {} -> {}", finding.getPage(), finding.getField(), finding.getLocator(),
+                    String.join("; ", finding.getIssues()),
+                    finding.getCss() != null ? "css: " + finding.getCss() : "no exact CSS equivalent");
+        }
+
+        Path parent = report.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(report.toFile(), findings);
+        Log.info("Analyzed {} locators, {} flagged. Report: {}", findings.size(), flagged, report);
+        if (failOnIssues && flagged > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Analyzes the {@code @FindBy} fields of every class in a package
+     *
+     * @param packageName the package to scan
+     * @return one finding per annotated field
+     */
+    public static List<Finding> analyzePackage(String packageName) throws IOException {
+        List<Finding> findings = new ArrayList<>();
+        for (Class<?> pageClass : findClasses(packageName)) {
+            findings.addAll(analyze(pageClass));
+        }
+        return findings;
+    }
+
+    /**
+     * Analyzes the {@code @FindBy} fields declared by one page class
+     *
+     * @param pageClass the page class
+     * @return one finding per annotated field
+     */
+    public static List<Finding> analyze(Class<?> pageClass) {
+        List<Finding> findings = new ArrayList<>();
+        for (Field field : pageClass.getDeclaredFields()) {
+            FindBy findBy = field.getAnnotation(FindBy.class);
+            if (findBy == null) {
+                continue;
+            }
+            Finding finding;
+            if (!findBy.xpath().isEmpty()) {
+                finding = analyzeXpath(findBy.xpath());
+            } else {
+                // id, name and CSS locators are resolved natively by the browser
+                finding = new Finding(strategyOf(findBy), valueOf(findBy), new ArrayList<>(), null);
+            }
+            finding.page = pageClass.getSimpleName();
+            finding.field = field.getName();
+            findings.add(finding);
+        }
+        return findings;
+    }
+
+    /**
+     * Flags costly constructs in an XPath and converts it to CSS when the mapping is exact
+     *
+     * @param xpath the XPath expression
+     * @return the finding, with a null CSS selector if there is no exact equivalent
+     */
+    public static Finding analyzeXpath(String xpath) {
+        List<String> issues = new ArrayList<>();
+        if (xpath.contains("text()")) {
+            issues.add("text predicate scans the text nodes of every candidate");
+        }
+        if (xpath.contains("/..")) {
+            issues.add("parent hop (..) walks back up the tree");
+        }
+        if (xpath.contains("//*")) {
+            issues.add("wildcard descendant step matches every element");
+        }
+        if (xpath.contains("contains(@class")) {
+            issues.add("substring class match is fragile (also matches longer class names)");
+        }
+        List<String> steps = new ArrayList<>();
+        List<String> separators = new ArrayList<>();
+        String splitError = split(xpath, steps, separators);
+        if (separators.stream().filter("//"::equals).count() > 1) {
+            issues.add("repeated descendant (//) searches");
+        }
+
+        String css = splitError == null ? toCss(steps, separators) : null;
+        if (css != null) {
+            issues.add("XPath where an equivalent CSS selector exists");
+        }
+        return new Finding("xpath", xpath, issues, css);
+    }
+
+    /**
+     * Splits an XPath into location steps and the separators in front of them
+     *
+     * @return null on success, otherwise why the expression cannot be split
+     */
+    private static String split(String xpath, List<String> steps, List<String> separators) {
+        String expression = xpath.trim();
+        if (expression.startsWith("(") || expression.contains("|") || !expression.startsWith("/")) {
+            return "not a simple location path";
+        }
+        int depth = 0;
+        char quote = 0;
+        StringBuilder step = new StringBuilder();
+        int i = 0;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+                step.append(c);
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+                step.append(c);
+            } else if (c == '[') {
+                depth++;
+                step.append(c);
+            } else if (c == ']') {
+                depth--;
+                step.append(c);
+            } else if (c == '/' && depth == 0) {
+                if (i > 0) {
+                    steps.add(step.toString());
+                    step.setLength(0);
+                }
+                boolean descendant = i + 1 < expression.length() && expression.charAt(i + 1) == '/';
+                separators.add(descendant ? "//" : "/");
+                i += descendant ? 2 : 1;
+                continue;
+            } else {
+                step.append(c);
+            }
+            i++;
+        }
+        steps.add(step.toString());
+        return null;
+    }
+
+    private static String toCss(List<String> steps, List<String> separators) {
+        StringBuilder css = new StringBuilder();
+        for (int i = 0; i < steps.size(); i++) {
+            String cssStep = toCssStep(steps.get(i).trim());
+            if (cssStep == null) {
+                return null;
+            }
+            if (i > 0) {
+                css.append("//".equals(separators.get(i)) ? " " : " > ");
+            }
+            css.append(cssStep);
+        }
+        return css.toString();
+    }
+
+    private static String toCssStep(String step) {
+        int bracket = step.indexOf('[');
+        String name = bracket >= 0 ? step.substring(0, bracket) : step;
+        if (!STEP_NAME.matcher(name).matches()) {
+            // Parent hops, axes and node tests have no CSS counterpart
+            return null;
+        }
+
+        StringBuilder css = new StringBuilder(name);
+        List<String> predicates = predicates(bracket >= 0 ? step.substring(bracket) : "");
+        if (predicates == null) {
+            return null;
+        }
+        for (int i = 0; i < predicates.size(); i++) {
+            String predicate = predicates.get(i).trim();
+            Matcher matcher;
+            if ((matcher = ATTRIBUTE_EQUALS.matcher(predicate)).matches()) {
+                String value = valueOf(matcher);
+                if ("id".equals(matcher.group(1)) && CSS_IDENTIFIER.matcher(value).matches()) {
+                    css.append('#').append(value);
+                } else {
+                    css.append('[').append(matcher.group(1)).append("='").append(escape(value)).append("']");
+                }
+            } else if ((matcher = ATTRIBUTE_CONTAINS.matcher(predicate)).matches()) {
+                css.append('[').append(matcher.group(1)).append("*='").append(escape(valueOf(matcher))).append("']");
+            } else if ((matcher = ATTRIBUTE_STARTS_WITH.matcher(predicate)).matches()) {
+                css.append('[').append(matcher.group(1)).append("^='").append(escape(valueOf(matcher))).append("']");
+            } else if ((matcher = ATTRIBUTE_PRESENT.matcher(predicate)).matches()) {
+                css.append('[').append(matcher.group(1)).append(']');
+            } else if ((matcher = POSITION.matcher(predicate)).matches() && i == 0) {
+                // A position only means "nth of its siblings" before any other predicate filters them
+                css.append("*".equals(name) ? ":nth-child(" : ":nth-of-type(").append(matcher.group(1)).append(')');
+            } else {
+                // Text predicates and other functions cannot be expressed in CSS
+                return null;
+            }
+        }
+        if ("*".equals(name) && css.length() > 1) {
+            css.deleteCharAt(0);
+        }
+        return css.toString();
+    }
+
+    /**
+     * Splits "[a][b and c]" into its predicates, treating "and" as separate predicates
+     *
+     * @return the predicates, or null if the brackets are unbalanced or use "or"
+     */
+    private static List<String> predicates(String brackets) {
+        List<String> predicates = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        StringBuilder current = new StringBuilder();
+        for (char c : brackets.toCharArray()) {
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+                current.append(c);
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+                current.append(c);
+            } else if (c == '[') {
+                if (depth++ > 0) {
+                    current.append(c);
+                }
+            } else if (c == ']') {
+                if (--depth > 0) {
+                    current.append(c);
+                } else {
+                    predicates.addAll(splitAnd(current.toString()));
+                    current.setLength(0);
+                }
+            } else if (depth > 0) {
+                current.append(c);
+            } else if (!Character.isWhitespace(c)) {
+                return null;
+            }
+        }
+        if (depth != 0 || predicates.stream().anyMatch(predicate -> predicate.matches(".*\\sor\\s.*"))) {
+            return null;
+        }
+        return predicates;
+    }
+
+    private static List<String> splitAnd(String predicate) {
+        List<String> parts = new ArrayList<>();
+        char quote = 0;
+        int start = 0;
+        for (int i = 0; i < predicate.length(); i++) {
+            char c = predicate.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (predicate.startsWith(" and ", i)) {
+                parts.add(predicate.substring(start, i));
+                start = i + " and ".length();
+                i = start - 1;
+            }
+        }
+        parts.add(predicate.substring(start));
+        return parts;
+    }
+
+    private static String valueOf(Matcher matcher) {
+        return matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("'", "\\'");
+    }
+
+    private static String strategyOf(FindBy findBy) {
+        if (!findBy.id().isEmpty()) {
+            return "id";
+        } else if (!findBy.name().isEmpty()) {
+            return "name";
+        } else if (!findBy.css().isEmpty()) {
+            return "css";
+        } else if (!findBy.className().isEmpty()) {
+            return "className";
+        } else if (!findBy.tagName().isEmpty()) {
+            return "tagName";
+        } else if (!findBy.linkText().isEmpty()) {
+            return "linkText";
+        } else if (!findBy.partialLinkText().isEmpty()) {
+            return "partialLinkText";
+        }
+        return findBy.how().name();
+    }
+
+    private static String valueOf(FindBy findBy) {
+        for (String value : new String[] {findBy.id(), findBy.name(), findBy.css(), findBy.className(),
+                findBy.tagName(), findBy.linkText(), findBy.partialLinkText()}) {
+            if (!value.isEmpty()) {
+                return value;
+            }
+        }
+        return findBy.using();
+    }
+
+    private static List<Class<?>> findClasses(String packageName) throws IOException {
+        ClassLoader loader = LocatorAnalyzer.class.getClassLoader();
+        String path = packageName.replace('.', '/');
+        List<String> classNames = new ArrayList<>();
+        Enumeration<URL> resources = loader.getResources(path);
+        while (resources.hasMoreElements()) {
+            URL resource = resources.nextElement();
+            if ("jar".equals(resource.getProtocol())) {
+                try (JarFile jar = ((JarURLConnection) resource.openConnection()).getJarFile()) {
+                    Enumeration<JarEntry> entries = jar.entries();
+                    while (entries.hasMoreElements()) {
+                        String name = entries.nextElement().getName();
+                        if (name.startsWith(path + "/") && name.endsWith(".class") && name.indexOf('/', path.length() + 1) < 0) {
+                            classNames.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+                        }
+                    }
+                }
+            } else {
+                File[] files;
+                try {
+                    files = new File(resource.toURI()).listFiles((dir, name) -> name.endsWith(".class"));
+                } catch (URISyntaxException e) {
+                    throw new IOException("Cannot scan " + resource, e);
+                }
+                for (File file : files != null ? files : new File[0]) {
+                    classNames.add(packageName + "." + file.getName().substring(0, file.getName().length() - ".class".length()));
+                }
+            }
+        }
+
+        List<Class<?>> classes = new ArrayList<>();
+        for (String className : classNames) {
+            try {
+                classes.add(Class.forName(className, false, loader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                Log.warn("Skipping {}: {}", className, e.getMessage());
+            }
+        }
+        classes.sort(Comparator.comparing(Class::getName));
+        return classes;
+    }
+
+    /**
+     * Analysis result for one locator
+     */
+    public static final class Finding {
+        private String page;
+        private String field;
+        private final String strategy;
+        private final String locator;
+        private final List<String> issues;
+        private final String css;
+
+        private Finding(String strategy, String locator, List<String> issues, String css) {
+            this.strategy = strategy;
+            this.locator = locator;
+            this.issues = issues;
+            this.css = css;
+        }
+
+        public String getPage() {
+            return page;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public String getStrategy() {
+            return strategy;
+        }
+
+        public String getLocator() {
+            return locator;
+        }
+
+        public List<String> getIssues() {
+            return issues;
+        }
+
+        public String getCss() {
+            return css;
+        }
+    }
+}
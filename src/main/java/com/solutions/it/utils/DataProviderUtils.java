@@ -38,7 +38,7 @@ public class DataProviderUtils {
                 testCaseName = "emptyPasswordTest";
                 break;
             default:
-                Log.warn("No test data mapping found for method: " + methodName);
+                Log.warn("No test data mapping found for method: {}", methodName);
                 return new Object[][]{{}};
         }
         
@@ -70,7 +70,7 @@ public class DataProviderUtils {
                 testCaseName = "myInfoNavigationTest";
                 break;
             default:
-                Log.warn("No test data mapping found for method: " + methodName);
+                Log.warn("No test data mapping found for method: {}", methodName);
                 return new Object[][]{{}};
         }
         
@@ -142,7 +142,7 @@ public class DataProviderUtils {
             case "testNavigateToMyInfoPage":
                 return "myInfoNavigationTest";
             default:
-                Log.warn("No test data mapping found for method: " + methodName);
+                Log.warn("No test data mapping found for method: {}", methodName);
                 return "";
         }
     }
@@ -24,10 +24,10 @@ public class JsonDataReader {
     public static JsonNode readJsonFile(String filePath) {
         try {
             File jsonFile = new File(filePath);
-            Log.info("Reading JSON data from file: " + filePath);
+            Log.info("Reading JSON data from file: {}", filePath);
             return OBJECT_MAPPER.readTree(jsonFile);
         } catch (IOException e) {
-            Log.error("Error reading JSON file: " + e.getMessage(), e);
+            Log.error("Error reading JSON file: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to read JSON file: " + filePath, e);
         }
     }
@@ -45,7 +45,7 @@ public class JsonDataReader {
             JsonNode testCaseNode = rootNode.path(testCaseName);
             
             if (testCaseNode.isMissingNode()) {
-                Log.error("Test case data not found in JSON file: " + testCaseName);
+                Log.error("Test case data not found in JSON file: {}", testCaseName);
                 throw new RuntimeException("Test case data not found: " + testCaseName);
             }
             
@@ -55,7 +55,7 @@ public class JsonDataReader {
             
             return testData;
         } catch (Exception e) {
-            Log.error("Error retrieving test data: " + e.getMessage(), e);
+            Log.error("Error retrieving test data: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to retrieve test data for test case: " + testCaseName, e);
         }
     }
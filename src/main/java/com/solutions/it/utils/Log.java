@@ -3,6 +3,13 @@ package com.solutions.it.utils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.function.Supplier;
+
+/**
+ * Logging facade for the framework. Prefer the parameterized ({@code "Clicked {}", element}) and
+ * supplier overloads on hot paths: nothing is concatenated or formatted unless the level is enabled.
+ * Loggers are asynchronous (see log4j2.component.properties), so callers never wait on appender I/O.
+ */
 public class Log {
     private static final Logger LOGGER = LogManager.getLogger(Log.class);
     
@@ -25,12 +32,48 @@ public class Log {
         }
     }
     
+    public static void info(String message, Object param) {
+        LOGGER.info(message, param);
+    }
+    
+    public static void info(String message, Object param1, Object param2) {
+        LOGGER.info(message, param1, param2);
+    }
+    
+    public static void info(String message, Object... params) {
+        LOGGER.info(message, params);
+    }
+    
+    public static void info(Supplier<String> messageSupplier) {
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info(messageSupplier.get());
+        }
+    }
+    
     public static void warn(String message) {
         if (LOGGER.isWarnEnabled()) {
             LOGGER.warn(message);
         }
     }
     
+    public static void warn(String message, Object param) {
+        LOGGER.warn(message, param);
+    }
+    
+    public static void warn(String message, Object param1, Object param2) {
+        LOGGER.warn(message, param1, param2);
+    }
+    
+    public static void warn(String message, Object... params) {
+        LOGGER.warn(message, params);
+    }
+    
+    public static void warn(Supplier<String> messageSupplier) {
+        if (LOGGER.isWarnEnabled()) {
+            LOGGER.warn(messageSupplier.get());
+        }
+    }
+    
     public static void error(String message) {
         if (LOGGER.isErrorEnabled()) {
             LOGGER.error(message);
@@ -43,17 +86,53 @@ public class Log {
         }
     }
     
+    public static void error(String message, Object param) {
+        LOGGER.error(message, param);
+    }
+    
+    public static void error(String message, Object param1, Object param2) {
+        LOGGER.error(message, param1, param2);
+    }
+    
+    public static void error(String message, Object... params) {
+        LOGGER.error(message, params);
+    }
+    
+    public static void error(Supplier<String> messageSupplier) {
+        if (LOGGER.isErrorEnabled()) {
+            LOGGER.error(messageSupplier.get());
+        }
+    }
+    
     public static void debug(String message) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(message);
         }
     }
     
+    public static void debug(String message, Object param) {
+        LOGGER.debug(message, param);
+    }
+    
+    public static void debug(String message, Object param1, Object param2) {
+        LOGGER.debug(message, param1, param2);
+    }
+    
+    public static void debug(String message, Object... params) {
+        LOGGER.debug(message, params);
+    }
+    
+    public static void debug(Supplier<String> messageSupplier) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(messageSupplier.get());
+        }
+    }
+    
     public static void startTestCase(String testCaseName) {
         if (LOGGER.isInfoEnabled()) {
             final String separator = "======================================================";
             LOGGER.info(separator);
-            LOGGER.info("Starting Test Case: " + testCaseName);
+            LOGGER.info("Starting Test Case: {}", testCaseName);
             LOGGER.info(separator);
         }
     }
@@ -62,7 +141,7 @@ public class Log {
         if (LOGGER.isInfoEnabled()) {
             final String separator = "======================================================";
             LOGGER.info(separator);
-            LOGGER.info("End of Test Case: " + testCaseName);
+            LOGGER.info("End of Test Case: {}", testCaseName);
             LOGGER.info(separator);
         }
     }
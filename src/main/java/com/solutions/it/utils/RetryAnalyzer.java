@@ -20,7 +20,7 @@ public class RetryAnalyzer implements IRetryAnalyzer {
     @Override
     public boolean retry(ITestResult result) {
         if (retryCount < MAX_RETRY_COUNT) {
-            Log.info("Retrying test: " + result.getName() + " for the " + (retryCount + 1) + " time");
+            Log.info("Retrying test: {} for the {} time", result.getName(), retryCount + 1);
             retryCount++;
             return true;
         }
@@ -0,0 +1,51 @@
+package com.solutions.it.utils;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.io.Serializable;
+
+/**
+ * Log4j2 appender feeding {@link TestLogCapture}: events tagged with a test's capture id go to
+ * that test's buffer, control events persist or drop it. Untagged events are ignored.
+ * <pre>
+ * &lt;TestLog name="TestLog"&gt;&lt;PatternLayout pattern="..."/&gt;&lt;/TestLog&gt;
+ * </pre>
+ */
+@Plugin(name = "TestLog", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public final class TestLogAppender extends AbstractAppender {
+    
+    private TestLogAppender(String name, Filter filter, Layout<? extends Serializable> layout) {
+        super(name, filter, layout, true, Property.EMPTY_ARRAY);
+    }
+    
+    @PluginFactory
+    public static TestLogAppender createAppender(@PluginAttribute("name") String name,
+                                                 @PluginElement("Filter") Filter filter,
+                                                 @PluginElement("Layout") Layout<? extends Serializable> layout) {
+        return new TestLogAppender(name, filter, layout != null ? layout : PatternLayout.createDefaultLayout());
+    }
+    
+    @Override
+    public void append(LogEvent event) {
+        String id = event.getContextData().getValue(TestLogCapture.ID_KEY);
+        if (id == null) {
+            return;
+        }
+        if (TestLogCapture.CONTROL_LOGGER.equals(event.getLoggerName())) {
+            TestLogCapture.finish(id, event.getMessage().getFormattedMessage());
+        } else {
+            TestLogCapture.capture(id, getLayout().toByteArray(event));
+        }
+    }
+}
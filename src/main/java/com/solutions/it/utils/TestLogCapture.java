@@ -0,0 +1,272 @@
+package com.solutions.it.utils;
+
+import com.solutions.it.config.FrameworkConfig;
+import com.solutions.it.metrics.MetricsWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.status.StatusLogger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Captures the log events of each running test in a bounded in-memory buffer instead of the
+ * shared log file. When the test ends the buffer is dropped if it passed, or written to its own
+ * file under test.log.path if it failed or is retried.
+ * <p>
+ * Test threads tag their events through the {@link ThreadContext}; {@link TestLogAppender}
+ * routes tagged events here and the shared file appender skips them. Loggers are asynchronous,
+ * so the end of a test is itself sent as a log event: it reaches the appender after every event
+ * the test logged before it.
+ */
+public final class TestLogCapture {
+    /** ThreadContext key holding the id of the test whose events are captured */
+    public static final String ID_KEY = "testLogId";
+    /** ThreadContext key set while capturing; log4j2.xml keeps these events out of automation.log */
+    public static final String CAPTURED_KEY = "testLogCaptured";
+    /** Logger whose events tell the appender that a test ended */
+    public static final String CONTROL_LOGGER = "com.solutions.it.testlog";
+    static final String PERSIST = "persist";
+    static final String DISCARD = "discard";
+    
+    private static final String REPORT_FILE = "test-logs.json";
+    private static final FrameworkConfig CONFIG = FrameworkConfig.getInstance();
+    private static final boolean ENABLED = Boolean.parseBoolean(CONFIG.getProperty("test.log.capture.enabled", "true").trim());
+    private static final Path DIRECTORY = Paths.get(CONFIG.getProperty("test.log.path", "./test-output/test-logs/").trim());
+    private static final int BUFFER_SIZE = Integer.parseInt(CONFIG.getProperty("test.log.buffer.size", "2000").trim());
+    private static final Overflow OVERFLOW = Overflow.valueOf(
+            CONFIG.getProperty("test.log.buffer.overflow", "spill").trim().toUpperCase(Locale.ENGLISH));
+    
+    private static final Logger CONTROL = LogManager.getLogger(CONTROL_LOGGER);
+    private static final Map<String, Buffer> BUFFERS = new ConcurrentHashMap<>();
+    private static final AtomicLong IDS = new AtomicLong();
+    private static final AtomicLong STARTED = new AtomicLong();
+    private static final AtomicLong ENDED = new AtomicLong();
+    private static final AtomicLong FINISHED = new AtomicLong();
+    private static final AtomicLong PERSISTED = new AtomicLong();
+    private static final AtomicLong DISCARDED = new AtomicLong();
+    private static final AtomicLong EVENTS_CAPTURED = new AtomicLong();
+    private static final AtomicLong EVENTS_DROPPED = new AtomicLong();
+    private static final AtomicLong SPILLS = new AtomicLong();
+    private static final AtomicLong BYTES_CAPTURED = new AtomicLong();
+    private static final AtomicLong BYTES_PERSISTED = new AtomicLong();
+    private static final AtomicLong BYTES_SAVED = new AtomicLong();
+    private static final AtomicLong BYTES_DROPPED = new AtomicLong();
+    
+    /**
+     * What a test's buffer does when it already holds test.log.buffer.size events
+     */
+    public enum Overflow {
+        /** Keep the latest events, the ones closest to a failure; the start of a long test log is lost */
+        DROP_OLDEST,
+        /** Keep the first events */
+        DROP_NEWEST,
+        /** Write the buffer to the test's file and keep capturing; the file is deleted if the test passes */
+        SPILL
+    }
+    
+    private TestLogCapture() {
+        // Private constructor to prevent instantiation
+    }
+    
+    /**
+     * Starts capturing the events logged on this thread
+     * 
+     * @param testName the test name, used in the log file name
+     * @return the capture id, or null if capturing is disabled
+     */
+    public static String begin(String testName) {
+        if (!ENABLED) {
+            return null;
+        }
+        String id = testName.replaceAll("[^A-Za-z0-9._-]", "_") + "_" + IDS.incrementAndGet();
+        BUFFERS.put(id, new Buffer(DIRECTORY.resolve(id + ".log")));
+        STARTED.incrementAndGet();
+        ThreadContext.put(ID_KEY, id);
+        ThreadContext.put(CAPTURED_KEY, "true");
+        return id;
+    }
+    
+    /**
+     * Stops capturing on this thread and persists or drops what the test logged
+     * 
+     * @param id the capture id returned by {@link #begin(String)}
+     * @param persist true to write the test's events to its own file
+     * @return the file the events are written to, or null if they are dropped
+     */
+    public static Path end(String id, boolean persist) {
+        if (id == null) {
+            return null;
+        }
+        Buffer buffer = BUFFERS.get(id);
+        ENDED.incrementAndGet();
+        // Sent through the logger so it is handled after the events the test already logged
+        ThreadContext.put(ID_KEY, id);
+        CONTROL.info(persist ? PERSIST : DISCARD);
+        ThreadContext.remove(ID_KEY);
+        ThreadContext.remove(CAPTURED_KEY);
+        return persist && buffer != null ? buffer.file : null;
+    }
+    
+    /**
+     * Adds a formatted event to a test's buffer. Called by the appender.
+     * 
+     * @param id the capture id
+     * @param event the formatted event
+     */
+    static void capture(String id, byte[] event) {
+        Buffer buffer = BUFFERS.get(id);
+        if (buffer != null) {
+            buffer.add(event);
+        }
+    }
+    
+    /**
+     * Persists or drops a test's buffer. Called by the appender for control events.
+     * 
+     * @param id the capture id
+     * @param action {@link #PERSIST} or {@link #DISCARD}
+     */
+    static void finish(String id, String action) {
+        Buffer buffer = BUFFERS.remove(id);
+        if (buffer != null) {
+            buffer.finish(PERSIST.equals(action));
+        }
+        FINISHED.incrementAndGet();
+    }
+    
+    /**
+     * Waits for ended tests to be persisted or dropped, then writes the capture statistics
+     * 
+     * @param timeout the longest time to wait for the appender to catch up
+     * @return the written report, or null if nothing was captured
+     */
+    public static Path writeReport(Duration timeout) {
+        if (STARTED.get() == 0) {
+            return null;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (FINISHED.get() < ENDED.get() && System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("bufferSize", BUFFER_SIZE);
+        report.put("overflow", OVERFLOW.name().toLowerCase(Locale.ENGLISH));
+        report.put("tests", STARTED.get());
+        report.put("persisted", PERSISTED.get());
+        report.put("discarded", DISCARDED.get());
+        report.put("stillOpen", BUFFERS.size());
+        report.put("eventsCaptured", EVENTS_CAPTURED.get());
+        report.put("eventsDropped", EVENTS_DROPPED.get());
+        report.put("spills", SPILLS.get());
+        report.put("bytesCaptured", BYTES_CAPTURED.get());
+        report.put("bytesPersisted", BYTES_PERSISTED.get());
+        report.put("bytesSaved", BYTES_SAVED.get());
+        report.put("bytesDropped", BYTES_DROPPED.get());
+        Path file = MetricsWriter.write(REPORT_FILE, report);
+        Log.info("Test log capture - {} tests, {} persisted, {} bytes kept off disk",
+                STARTED.get(), PERSISTED.get(), BYTES_SAVED.get());
+        return file;
+    }
+    
+    /**
+     * One test's events. Only the appender thread touches a buffer once the test started.
+     */
+    private static final class Buffer {
+        private final Path file;
+        private final Deque<byte[]> events = new ArrayDeque<>();
+        // Events kept until the test ends; dropped ones are counted in BYTES_DROPPED
+        private long bytes;
+        private long bytesOnDisk;
+        private boolean spilled;
+    
+        Buffer(Path file) {
+            this.file = file;
+        }
+    
+        synchronized void add(byte[] event) {
+            EVENTS_CAPTURED.incrementAndGet();
+            BYTES_CAPTURED.addAndGet(event.length);
+            if (events.size() >= BUFFER_SIZE) {
+                switch (OVERFLOW) {
+                    case DROP_NEWEST:
+                        drop(event);
+                        return;
+                    case SPILL:
+                        SPILLS.incrementAndGet();
+                        write();
+                        break;
+                    default:
+                        byte[] oldest = events.removeFirst();
+                        bytes -= oldest.length;
+                        drop(oldest);
+                        break;
+                }
+            }
+            bytes += event.length;
+            events.addLast(event);
+        }
+    
+        synchronized void finish(boolean persist) {
+            if (persist) {
+                write();
+                BYTES_PERSISTED.addAndGet(bytesOnDisk);
+                BYTES_SAVED.addAndGet(bytes - bytesOnDisk);
+                PERSISTED.incrementAndGet();
+            } else {
+                if (spilled) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        StatusLogger.getLogger().warn("Could not delete test log {}", file, e);
+                    }
+                }
+                // Spilled events reached the disk before the file was deleted
+                BYTES_SAVED.addAndGet(bytes - bytesOnDisk);
+                DISCARDED.incrementAndGet();
+            }
+            events.clear();
+        }
+    
+        private void drop(byte[] event) {
+            EVENTS_DROPPED.incrementAndGet();
+            BYTES_DROPPED.addAndGet(event.length);
+        }
+    
+        private void write() {
+            try {
+                Files.createDirectories(DIRECTORY);
+                try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE,
+                        spilled ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING)) {
+                    for (byte[] event : events) {
+                        out.write(event);
+                        bytesOnDisk += event.length;
+                    }
+                }
+                spilled = true;
+            } catch (IOException e) {
+                StatusLogger.getLogger().error("Could not write test log {}", file, e);
+            }
+            events.clear();
+        }
+    }
+}
@@ -33,8 +33,8 @@ public class ApiTestRunner extends BaseApiTest {
      */
     @Test(groups = {"smoke", "api"})
     public void testGetAllUsers() {
-        extentTest.info("Making GET request to /users endpoint");
-        Response response = apiClient.get(getEndpointUrl("users"));
+        getExtentTest().info("Making GET request to /users endpoint");
+        Response response = getApiClient().get(getEndpointUrl("users"));
         logResponseToReport(response);
         
         // Validate response
@@ -44,7 +44,7 @@ public class ApiTestRunner extends BaseApiTest {
         List<User> users = response.jsonPath().getList("", User.class);
         Assert.assertFalse(users.isEmpty(), "Users list should not be empty");
         
-        extentTest.pass("Successfully retrieved users from the API");
+        getExtentTest().pass("Successfully retrieved users from the API");
     }
     
     /**
@@ -59,8 +59,8 @@ public class ApiTestRunner extends BaseApiTest {
             .userId(1L)
             .build();
         
-        extentTest.info("Making POST request to create a new post");
-        Response response = apiClient.post(getEndpointUrl("posts"), newPost);
+        getExtentTest().info("Making POST request to create a new post");
+        Response response = getApiClient().post(getEndpointUrl("posts"), newPost);
         logResponseToReport(response);
         
         // Validate response
@@ -72,7 +72,7 @@ public class ApiTestRunner extends BaseApiTest {
         Assert.assertEquals(createdPost.getTitle(), newPost.getTitle(), "Post title should match");
         Assert.assertEquals(createdPost.getBody(), newPost.getBody(), "Post body should match");
         
-        extentTest.pass("Successfully created a post via API");
+        getExtentTest().pass("Successfully created a post via API");
     }
     
     /**
@@ -88,8 +88,8 @@ public class ApiTestRunner extends BaseApiTest {
             .userId(1L)
             .build();
         
-        extentTest.info("Making PUT request to update post with ID: " + postId);
-        Response response = apiClient.put(getEndpointUrl("posts") + "/" + postId, updatedPost);
+        getExtentTest().info("Making PUT request to update post with ID: " + postId);
+        Response response = getApiClient().put(getEndpointUrl("posts") + "/" + postId, updatedPost);
         logResponseToReport(response);
         
         // Validate response
@@ -101,7 +101,7 @@ public class ApiTestRunner extends BaseApiTest {
         Assert.assertEquals(returnedPost.getTitle(), updatedPost.getTitle(), "Post title should be updated");
         Assert.assertEquals(returnedPost.getBody(), updatedPost.getBody(), "Post body should be updated");
         
-        extentTest.pass("Successfully updated a post via API");
+        getExtentTest().pass("Successfully updated a post via API");
     }
     
     /**
@@ -112,8 +112,8 @@ public class ApiTestRunner extends BaseApiTest {
         int postId = 1;
         Map<String, String> partialUpdate = Map.of("title", "Partially Updated Title");
         
-        extentTest.info("Making PATCH request to partially update post with ID: " + postId);
-        Response response = apiClient.patch(getEndpointUrl("posts") + "/" + postId, partialUpdate);
+        getExtentTest().info("Making PATCH request to partially update post with ID: " + postId);
+        Response response = getApiClient().patch(getEndpointUrl("posts") + "/" + postId, partialUpdate);
         logResponseToReport(response);
         
         // Validate response
@@ -124,7 +124,7 @@ public class ApiTestRunner extends BaseApiTest {
         Assert.assertEquals(returnedPost.getId().intValue(), postId, "Post ID should match");
         Assert.assertEquals(returnedPost.getTitle(), "Partially Updated Title", "Post title should be updated");
         
-        extentTest.pass("Successfully partially updated a post via API");
+        getExtentTest().pass("Successfully partially updated a post via API");
     }
     
     /**
@@ -134,14 +134,14 @@ public class ApiTestRunner extends BaseApiTest {
     public void testDeletePost() {
         int postId = 1;
         
-        extentTest.info("Making DELETE request for post with ID: " + postId);
-        Response response = apiClient.delete(getEndpointUrl("posts") + "/" + postId);
+        getExtentTest().info("Making DELETE request for post with ID: " + postId);
+        Response response = getApiClient().delete(getEndpointUrl("posts") + "/" + postId);
         logResponseToReport(response);
         
         // Validate response
         ResponseValidator.validateStatusCode(response, 200);
         
-        extentTest.pass("Successfully deleted a post via API");
+        getExtentTest().pass("Successfully deleted a post via API");
     }
     
     /**
@@ -151,13 +151,13 @@ public class ApiTestRunner extends BaseApiTest {
     public void testGetNonExistentResource() {
         int nonExistentId = 99999;
         
-        extentTest.info("Making GET request for non-existent resource with ID: " + nonExistentId);
-        Response response = apiClient.get(getEndpointUrl("users") + "/" + nonExistentId);
+        getExtentTest().info("Making GET request for non-existent resource with ID: " + nonExistentId);
+        Response response = getApiClient().get(getEndpointUrl("users") + "/" + nonExistentId);
         logResponseToReport(response);
         
         // Validate 404 response
         ResponseValidator.validateStatusCode(response, 404);
         
-        extentTest.pass("Successfully verified 404 response for non-existent resource");
+        getExtentTest().pass("Successfully verified 404 response for non-existent resource");
     }
 } 
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.solutions.tests.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solutions.it.drivers.CommandTracer;
+import com.solutions.it.pages.LoginPage;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Checks that traced drivers and elements unwrap to the right objects and that commands are
+ * attributed to the page method that issued them, against the in-memory driver stub of {@link PageConstructionBenchmarkTests}. Run with {@code mvn test -Ppage-benchmark}.
+ */
+public class CommandTracerTests {
+
+    @Test(description = "A traced element unwraps to its element and wraps the traced driver")
+    public void tracedElementWrapsTracedDriver() {
+        WebDriver driver = PageConstructionBenchmarkTests.stubDriver();
+        WebDriver traced = CommandTracer.trace(driver);
+        WebElement element = traced.findElement(By.id("username"));
+
+        Assert.assertTrue(element instanceof WrapsDriver, "Traced element should keep the element's WrapsDriver interface");
+        Assert.assertSame(((WrapsDriver) element).getWrappedDriver(), traced);
+        Assert.assertSame(((WrapsElement) element).getWrappedElement(), driver.findElement(By.id("username")));
+        Assert.assertSame(CommandTracer.unwrap(traced), driver);
+    }
+
+    @Test(description = "Element commands issued through cached handles are attributed to the page method")
+    public void attributesElementCommandsToPageMethod() throws IOException {
+        WebDriver traced = CommandTracer.trace(PageConstructionBenchmarkTests.stubDriver());
+        new LoginPage(traced).enterUsername("Admin");
+
+        Path file = CommandTracer.writeReport();
+        Assert.assertNotNull(file, "No command was traced");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> byPageMethod = (Map<String, Object>) new ObjectMapper().readValue(file.toFile(), Map.class)
+                .get("byPageMethod");
+        Assert.assertTrue(byPageMethod.containsKey("LoginPage.enterUsername"),
+                "Commands should be attributed to LoginPage.enterUsername, got " + byPageMethod.keySet());
+        Assert.assertFalse(byPageMethod.containsKey("CachedElement.call"),
+                "Element handle plumbing should not be reported as a page method");
+    }
+}
@@ -0,0 +1,125 @@
+package com.solutions.tests.benchmarks;
+
+import com.solutions.it.drivers.DriverFactory;
+import com.solutions.it.drivers.SessionRegistry;
+import com.solutions.it.metrics.LatencyHistogram;
+import com.solutions.it.metrics.MetricsWriter;
+import com.solutions.it.tools.LocatorAnalyzer;
+import com.solutions.it.tools.LocatorAnalyzer.Finding;
+import com.solutions.it.utils.Log;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks the page-object XPath locators against the CSS rewrites emitted by
+ * {@link LocatorAnalyzer}, on a local HTML copy of the OrangeHRM markup.
+ * Run with {@code mvn test -Plocator-benchmark}.
+ */
+public class LocatorBenchmarkTests {
+    private static final String FIXTURE = "/fixtures/locator-benchmark.html";
+    private static final int IN_PAGE_ITERATIONS = 2000;
+    private static final int ROUND_TRIP_ITERATIONS = 25;
+    private static final String IN_PAGE_SCRIPT =
+            "var kind = arguments[0], selector = arguments[1], iterations = arguments[2];"
+            + "var start = performance.now();"
+            + "for (var i = 0; i < iterations; i++) {"
+            + "  if (kind === 'xpath') {"
+            + "    document.evaluate(selector, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;"
+            + "  } else {"
+            + "    document.querySelector(selector);"
+            + "  }"
+            + "}"
+            + "return (performance.now() - start) * 1000 / iterations;";
+
+    private WebDriver driver;
+
+    @BeforeClass
+    public void setUp() {
+        driver = DriverFactory.createDriver(System.getProperty("browser", "chrome"));
+        driver.get(getClass().getResource(FIXTURE).toString());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        if (driver != null) {
+            SessionRegistry.quit(driver);
+        }
+    }
+
+    /**
+     * Verifies every CSS rewrite selects the same element as its XPath and compares their lookup cost
+     */
+    @Test(description = "Compare lookup latency of page-object XPath locators and their CSS rewrites")
+    public void benchmarkRewrittenLocators() throws IOException {
+        List<Finding> rewritten = new ArrayList<>();
+        for (Finding finding : LocatorAnalyzer.analyzePackage(LocatorAnalyzer.PAGES_PACKAGE)) {
+            if (finding.getCss() != null) {
+                rewritten.add(finding);
+            }
+        }
+        Assert.assertFalse(rewritten.isEmpty(), "No locator has a CSS rewrite to benchmark");
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        double totalXpathMicros = 0;
+        double totalCssMicros = 0;
+        for (Finding finding : rewritten) {
+            String name = finding.getPage() + "." + finding.getField();
+            WebElement byXpath = driver.findElement(By.xpath(finding.getLocator()));
+            WebElement byCss = driver.findElement(By.cssSelector(finding.getCss()));
+            Assert.assertEquals(byCss, byXpath, "CSS rewrite selects a different element for " + name);
+
+            double xpathMicros = inPageMicros("xpath", finding.getLocator());
+            double cssMicros = inPageMicros("css", finding.getCss());
+            totalXpathMicros += xpathMicros;
+            totalCssMicros += cssMicros;
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("xpath", finding.getLocator());
+            result.put("css", finding.getCss());
+            result.put("inPageXpathMicros", round(xpathMicros));
+            result.put("inPageCssMicros", round(cssMicros));
+            result.put("findElementXpath", roundTrips(By.xpath(finding.getLocator())));
+            result.put("findElementCss", roundTrips(By.cssSelector(finding.getCss())));
+            report.put(name, result);
+
+            Log.info(String.format("%s - xpath: %.2fus, css: %.2fus", name, xpathMicros, cssMicros));
+        }
+
+        MetricsWriter.write("locator-benchmark.json", report);
+        Log.info(String.format("Locator benchmark - %d rewrites, total in-page xpath: %.1fus, css: %.1fus",
+                rewritten.size(), totalXpathMicros, totalCssMicros));
+    }
+
+    private double inPageMicros(String kind, String selector) {
+        // Warm up the engine's selector caches before measuring
+        ((JavascriptExecutor) driver).executeScript(IN_PAGE_SCRIPT, kind, selector, 50);
+        Object micros = ((JavascriptExecutor) driver).executeScript(IN_PAGE_SCRIPT, kind, selector, IN_PAGE_ITERATIONS);
+        return ((Number) micros).doubleValue();
+    }
+
+    private Map<String, Object> roundTrips(By by) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < ROUND_TRIP_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            driver.findElement(by);
+            histogram.record(System.nanoTime() - start);
+        }
+        return histogram.summary();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,232 @@
+package com.solutions.tests.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solutions.it.metrics.MetricsWriter;
+import com.solutions.it.utils.Log;
+import org.apache.logging.log4j.LogManager;
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures what logging costs a page action on 8 parallel test threads, through the {@link Log}
+ * facade and the shipped log4j2.xml (its levels, appenders and flush settings, unchanged between
+ * runs). "before" is the previous setup: synchronous loggers and the old {@code BasePage.click}
+ * call shape, a message concatenated inside an {@code isInfoEnabled()} guard. "after" is the
+ * current one: async loggers on the Disruptor ring buffer and a parameterized message.
+ * <p>
+ * The logger context type is fixed per JVM, so each run is a forked JVM; only the context
+ * selector differs. Each setup runs a burst that fits the 256K-slot ring buffer and a sustained
+ * load several times its size, where async callers wait for the appenders to free slots.
+ * Run with {@code mvn test -Plogging-benchmark}.
+ */
+public class LoggingBenchmarkTests {
+    private static final int THREADS = 8;
+    private static final int WARMUP_ACTIONS = 10_000;
+    // 8 x 20,000 events fit the ring buffer; 8 x 100,000 fill it about three times over
+    private static final int BURST_ACTIONS_PER_THREAD = 20_000;
+    private static final int SUSTAINED_ACTIONS_PER_THREAD = 100_000;
+    private static final long WARMUP_DRAIN_MILLIS = 1000;
+    private static final String SYNC_SELECTOR = "org.apache.logging.log4j.core.selector.ClassLoaderContextSelector";
+    private static final String ASYNC_SELECTOR = "org.apache.logging.log4j.core.async.AsyncLoggerContextSelector";
+    private static final String MESSAGE_PREFIX = "Clicked on element: ";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Runs the same action workload in forked JVMs with synchronous and async loggers
+     */
+    @Test(description = "Compare per-action logging overhead of synchronous and async loggers under 8 threads")
+    public void benchmarkLoggingOverhead() throws Exception {
+        Path directory = Files.createDirectories(Paths.get("test-output", "logging-benchmark").toAbsolutePath());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("threads", THREADS);
+        report.put("config", "log4j2.xml");
+        StringBuilder summary = new StringBuilder("Logging benchmark -");
+        for (String load : new String[] {"burst", "sustained"}) {
+            int actions = "burst".equals(load) ? BURST_ACTIONS_PER_THREAD : SUSTAINED_ACTIONS_PER_THREAD;
+            Map<String, Object> before = fork(directory.resolve(load + "-before"), SYNC_SELECTOR, false, actions);
+            Map<String, Object> after = fork(directory.resolve(load + "-after"), ASYNC_SELECTOR, true, actions);
+            Assert.assertEquals(after.get("linesWritten"), before.get("linesWritten"), "Async logging lost events in the " + load + " run");
+
+            Map<String, Object> comparison = new LinkedHashMap<>();
+            comparison.put("actionsPerThread", actions);
+            comparison.put("before", before);
+            comparison.put("after", after);
+            double beforeMicros = (double) before.get("meanMicrosPerAction");
+            double afterMicros = (double) after.get("meanMicrosPerAction");
+            comparison.put("speedup", round(beforeMicros / afterMicros));
+            report.put(load, comparison);
+            summary.append(String.format(" %s: %.2fus before, %.2fus after per action;", load, beforeMicros, afterMicros));
+        }
+        MetricsWriter.write("logging-benchmark.json", report);
+        Log.info(summary.toString());
+    }
+
+    /**
+     * Entry point of a forked run: {@code <parameterized> <actionsPerThread> <resultFile>}.
+     * The working directory is the run's directory, so log4j2.xml writes its logs there.
+     */
+    public static void main(String[] args) throws Exception {
+        boolean parameterized = Boolean.parseBoolean(args[0]);
+        int actions = Integer.parseInt(args[1]);
+        Path resultFile = Paths.get(args[2]);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long[] samples;
+        long wallNanos;
+        try {
+            runActions(executor, parameterized, WARMUP_ACTIONS);
+            Thread.sleep(WARMUP_DRAIN_MILLIS);
+            long start = System.nanoTime();
+            samples = runActions(executor, parameterized, actions);
+            wallNanos = System.nanoTime() - start;
+        } finally {
+            executor.shutdown();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("logging", (parameterized ? "parameterized" : "guarded concatenation") + ", "
+                + LogManager.getContext(false).getClass().getSimpleName());
+
+        // Stopping drains the ring buffer, so the async backlog is paid here, not by the test threads
+        long drainStart = System.nanoTime();
+        LogManager.shutdown();
+        long drainNanos = System.nanoTime() - drainStart;
+
+        Arrays.sort(samples);
+        result.put("meanMicrosPerAction", round(Arrays.stream(samples).average().orElse(0) / 1000.0));
+        result.put("p50Micros", percentileMicros(samples, 50));
+        result.put("p99Micros", percentileMicros(samples, 99));
+        result.put("p999Micros", percentileMicros(samples, 99.9));
+        result.put("maxMicros", round(samples[samples.length - 1] / 1000.0));
+        result.put("actionsPerSecond", Math.round(THREADS * (double) actions / (wallNanos / 1e9)));
+        result.put("wallMillis", wallNanos / 1_000_000);
+        result.put("drainMillis", drainNanos / 1_000_000);
+        OBJECT_MAPPER.writeValue(resultFile.toFile(), result);
+    }
+
+    private static Map<String, Object> fork(Path directory, String selector, boolean parameterized, int actions)
+            throws IOException, InterruptedException {
+        deleteRecursively(directory);
+        Files.createDirectories(directory);
+        Path resultFile = directory.resolve("result.json");
+        List<String> command = new ArrayList<>(Arrays.asList(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "-Dlog4j2.contextSelector=" + selector,
+                LoggingBenchmarkTests.class.getName(),
+                String.valueOf(parameterized), String.valueOf(actions), resultFile.toString()));
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                // The shipped Console appender writes here
+                .redirectOutput(directory.resolve("console.log").toFile())
+                .start();
+        if (!process.waitFor(10, TimeUnit.MINUTES)) {
+            process.destroyForcibly();
+            Assert.fail("Logging benchmark run timed out in " + directory);
+        }
+        Assert.assertEquals(process.exitValue(), 0, "Logging benchmark run failed, see " + directory.resolve("console.log"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> result = OBJECT_MAPPER.readValue(resultFile.toFile(), Map.class);
+        result.put("linesWritten", countLines(directory.resolve("logs")));
+        return result;
+    }
+
+    private static long[] runActions(ExecutorService executor, boolean parameterized, int actions)
+            throws InterruptedException, ExecutionException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                // Samples stay thread-local so recording them adds no contention of its own
+                long[] samples = new long[actions];
+                Object element = new ElementStub(By.xpath("//button[@type='submit']"));
+                start.await();
+                for (int i = 0; i < actions; i++) {
+                    long begin = System.nanoTime();
+                    if (parameterized) {
+                        Log.info("Clicked on element: {}", element);
+                    } else if (Log.getLogger().isInfoEnabled()) {
+                        Log.info("Clicked on element: " + element.toString());
+                    }
+                    samples[i] = System.nanoTime() - begin;
+                }
+                return samples;
+            }));
+        }
+        start.countDown();
+        long[] all = new long[THREADS * actions];
+        for (int t = 0; t < THREADS; t++) {
+            System.arraycopy(futures.get(t).get(), 0, all, t * actions, actions);
+        }
+        return all;
+    }
+
+    private static long countLines(Path logs) throws IOException {
+        // Rolled-over files included: the file appender rolls at 10 MB
+        long count = 0;
+        try (Stream<Path> files = Files.list(logs)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                try (Stream<String> lines = Files.lines(file)) {
+                    count += lines.filter(line -> line.contains(MESSAGE_PREFIX)).count();
+                }
+            }
+        }
+        return count;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted((a, b) -> b.getNameCount() - a.getNameCount()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private static double percentileMicros(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return round(sorted[Math.max(0, rank - 1)] / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * Stands in for a page element: its description is built on every {@code toString()}
+     */
+    private static final class ElementStub {
+        private final By by;
+
+        ElementStub(By by) {
+            this.by = by;
+        }
+
+        @Override
+        public String toString() {
+            return "Cached element for: " + by;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.solutions.tests.benchmarks;
+
+import com.solutions.it.metrics.MetricsWriter;
+import com.solutions.it.pages.BasePage;
+import com.solutions.it.pages.ElementCache;
+import com.solutions.it.pages.HomePage;
+import com.solutions.it.pages.LoginPage;
+import com.solutions.it.pages.PageMetadata;
+import com.solutions.it.pages.PimPage;
+import com.solutions.it.utils.Log;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.support.PageFactory;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Microbenchmark of page-object construction: element binding through {@code PageFactory}
+ * reflection and proxies against the per-class {@link PageMetadata}. Runs against an
+ * in-memory driver stub, so no browser is needed and only framework overhead is measured.
+ * Run with {@code mvn test -Ppage-benchmark}.
+ */
+public class PageConstructionBenchmarkTests {
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 100_000;
+    
+    private WebDriver driver;
+    
+    @BeforeClass
+    public void setUp() {
+        driver = stubDriver();
+    }
+    
+    /**
+     * Binds the elements of each page class both ways and compares the cost per page instance
+     */
+    @Test(description = "Compare PageFactory element binding with precomputed page metadata")
+    public void benchmarkElementBinding() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        for (BasePage page : new BasePage[] {new LoginPage(driver), new HomePage(driver), new PimPage(driver)}) {
+            PageMetadata metadata = PageMetadata.of(page.getClass());
+            Assert.assertTrue(metadata.getBindingCount() > 0, "No element fields found on " + page.getClass().getSimpleName());
+            
+            double pageFactoryMicros = microsPerCall(target -> PageFactory.initElements(driver, target), page);
+            double metadataMicros = microsPerCall(target -> metadata.bind(target, driver, new ElementCache()), page);
+            
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("elementFields", metadata.getBindingCount());
+            result.put("pageFactoryMicros", round(pageFactoryMicros));
+            result.put("pageMetadataMicros", round(metadataMicros));
+            result.put("speedup", round(pageFactoryMicros / metadataMicros));
+            report.put(page.getClass().getSimpleName(), result);
+            
+            Log.info(String.format("%s - PageFactory: %.2fus, metadata: %.2fus per page", page.getClass().getSimpleName(),
+                    pageFactoryMicros, metadataMicros));
+        }
+        
+        // Full construction including config lookups and wait setup, binding through metadata
+        report.put("loginPageConstructionMicros", round(microsPerCall(target -> new LoginPage(driver), null)));
+        MetricsWriter.write("page-construction-benchmark.json", report);
+    }
+    
+    private static double microsPerCall(Consumer<BasePage> action, BasePage page) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            action.accept(page);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            action.accept(page);
+        }
+        return (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+    
+    /**
+     * Driver that reports every page as idle and every element as present and displayed.
+     * Elements implement {@link WrapsDriver} like {@code RemoteWebElement}.
+     */
+    static WebDriver stubDriver() {
+        WebDriver[] driver = new WebDriver[1];
+        WebElement element = (WebElement) Proxy.newProxyInstance(WebElement.class.getClassLoader(),
+                new Class<?>[] {WebElement.class, WrapsDriver.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getWrappedDriver":
+                            return driver[0];
+                        case "isDisplayed":
+                        case "isEnabled":
+                            return true;
+                        case "getText":
+                            return "";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+        driver[0] = (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+                new Class<?>[] {WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findElement":
+                            return element;
+                        case "findElements":
+                            return Collections.singletonList(element);
+                        case "executeScript":
+                            return scriptResult(args);
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "StubDriver";
+                        default:
+                            return null;
+                    }
+                });
+        return driver[0];
+    }
+    
+    private static Object scriptResult(Object[] args) {
+        Object[] scriptArgs = (Object[]) args[1];
+        if (scriptArgs.length > 0 && scriptArgs[0] instanceof Map) {
+            // Element snapshot: report every requested element as present and displayed
+            Map<String, Object> states = new LinkedHashMap<>();
+            for (Object name : ((Map<?, ?>) scriptArgs[0]).keySet()) {
+                Map<String, Object> state = new LinkedHashMap<>();
+                state.put("present", true);
+                state.put("displayed", true);
+                state.put("enabled", true);
+                state.put("text", "");
+                state.put("attributes", Collections.emptyMap());
+                states.put(String.valueOf(name), state);
+            }
+            return states;
+        }
+        return Boolean.TRUE;
+    }
+}